@@ -17,36 +17,163 @@
 package com.github.cornerstonews.webservice;
 
 import java.io.IOException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
+import javax.ws.rs.HttpMethod;
 import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
 import javax.ws.rs.container.ContainerResponseContext;
 import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.PreMatching;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
 import javax.ws.rs.ext.Provider;
 
 import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
 import com.github.cornerstonews.webservice.configuration.injection.Config;
 
+/**
+ * Adds the CORS headers to responses and answers preflight requests before resource matching and authentication.
+ * Header values are computed once from the configuration. With a list of allowed origins, the request origin is
+ * echoed back when it is in the list, and {@code Vary: Origin} is added. The headers are then always recomputed, as
+ * responses replayed from a cache carry the values of the origin they were first produced for.
+ */
 @Provider
-public class CORSFilter implements ContainerResponseFilter {
+@PreMatching
+public class CORSFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String ORIGIN = "Origin";
+    private static final String ALLOW_ORIGIN = "Access-Control-Allow-Origin";
+    private static final String ALLOW_HEADERS = "Access-Control-Allow-Headers";
+    private static final String ALLOW_CREDENTIALS = "Access-Control-Allow-Credentials";
+    private static final String ALLOW_METHODS = "Access-Control-Allow-Methods";
+    private static final String MAX_AGE = "Access-Control-Max-Age";
+    private static final String REQUEST_METHOD = "Access-Control-Request-Method";
 
     @Config
     private BaseWebserviceConfig config;
-    
+
+    private volatile CORSHeaders corsHeaders;
+
+    public CORSFilter() {
+    }
+
+    public CORSFilter(BaseWebserviceConfig.CORSFilter corsConfig) {
+        this.corsHeaders = new CORSHeaders(corsConfig);
+    }
+
+    private CORSHeaders getCorsHeaders() {
+        CORSHeaders headers = this.corsHeaders;
+        if (headers == null) {
+            headers = new CORSHeaders(config.getCorsFilter());
+            this.corsHeaders = headers;
+        }
+        return headers;
+    }
+
+    @Override
+    public void filter(ContainerRequestContext request) throws IOException {
+        if (!HttpMethod.OPTIONS.equals(request.getMethod()) || request.getHeaderString(ORIGIN) == null
+                || request.getHeaderString(REQUEST_METHOD) == null) {
+            return;
+        }
+
+        final CORSHeaders headers = getCorsHeaders();
+        final Response.ResponseBuilder preflight = Response.noContent();
+        final String allowedOrigin = headers.allowedOrigin(request.getHeaderString(ORIGIN));
+        if (allowedOrigin != null) {
+            preflight.header(ALLOW_ORIGIN, allowedOrigin)
+                    .header(ALLOW_HEADERS, headers.allowHeaders)
+                    .header(ALLOW_CREDENTIALS, headers.allowCredentials)
+                    .header(ALLOW_METHODS, headers.allowMethods)
+                    .header(MAX_AGE, headers.maxAge);
+        }
+        request.abortWith(preflight.build());
+    }
+
     @Override
     public void filter(ContainerRequestContext request, ContainerResponseContext response) throws IOException {
         MultivaluedMap<String, Object> headers = response.getHeaders();
         
-        if(headers.containsKey("Access-Control-Allow-Origin") 
-                || headers.containsKey("Access-Control-Allow-Headers")
-                || headers.containsKey("Access-Control-Allow-Credentials")
-                || headers.containsKey("Access-Control-Allow-Methods")) {
+        final CORSHeaders corsHeaders = getCorsHeaders();
+        if (corsHeaders.varyByOrigin) {
+            addVaryOrigin(headers);
+
+            // Replayed cached responses carry the headers computed for the origin of the first caller
+            headers.remove(ALLOW_ORIGIN);
+            headers.remove(ALLOW_HEADERS);
+            headers.remove(ALLOW_CREDENTIALS);
+            headers.remove(ALLOW_METHODS);
+        } else if (headers.containsKey(ALLOW_ORIGIN)) {
             return;
         }
-        
-        headers.add("Access-Control-Allow-Origin", config.getCorsFilter().getOrigin());                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                                      
-        headers.add("Access-Control-Allow-Headers", config.getCorsFilter().getHeaders());
-        headers.add("Access-Control-Allow-Credentials", config.getCorsFilter().getCredentials());
-        headers.add("Access-Control-Allow-Methods", config.getCorsFilter().getMethods());
+
+        final String allowedOrigin = corsHeaders.allowedOrigin(request.getHeaderString(ORIGIN));
+        if (allowedOrigin == null) {
+            return;
+        }
+
+        headers.add(ALLOW_ORIGIN, allowedOrigin);
+        headers.add(ALLOW_HEADERS, corsHeaders.allowHeaders);
+        headers.add(ALLOW_CREDENTIALS, corsHeaders.allowCredentials);
+        headers.add(ALLOW_METHODS, corsHeaders.allowMethods);
+    }
+
+    private static void addVaryOrigin(MultivaluedMap<String, Object> headers) {
+        final List<Object> values = headers.get(HttpHeaders.VARY);
+        if (values != null) {
+            for (Object value : values) {
+                for (String field : value.toString().split(",")) {
+                    if (field.trim().equalsIgnoreCase(ORIGIN)) {
+                        return;
+                    }
+                }
+            }
+        }
+        headers.add(HttpHeaders.VARY, ORIGIN);
+    }
+
+    private static final class CORSHeaders {
+
+        private final String staticOrigin;
+        private final Set<String> allowedOrigins;
+        private final boolean varyByOrigin;
+        private final String allowHeaders;
+        private final String allowCredentials;
+        private final String allowMethods;
+        private final String maxAge;
+
+        CORSHeaders(BaseWebserviceConfig.CORSFilter corsConfig) {
+            final String origin = corsConfig.getOrigin().trim();
+            if (origin.indexOf(',') < 0) {
+                this.staticOrigin = origin;
+                this.allowedOrigins = Collections.emptySet();
+            } else {
+                this.staticOrigin = null;
+                final Set<String> origins = new HashSet<>();
+                Arrays.stream(origin.split(",")).map(String::trim).filter(o -> !o.isEmpty()).forEach(origins::add);
+                this.allowedOrigins = Collections.unmodifiableSet(origins);
+            }
+            this.varyByOrigin = this.staticOrigin == null;
+            this.allowHeaders = corsConfig.getHeaders();
+            this.allowCredentials = corsConfig.getCredentials();
+            this.allowMethods = corsConfig.getMethods();
+            this.maxAge = Integer.toString(corsConfig.getMaxAgeInSeconds());
+        }
+
+        /**
+         * @return the Access-Control-Allow-Origin value for the request origin, null when it is not allowed
+         */
+        String allowedOrigin(String requestOrigin) {
+            if (staticOrigin != null) {
+                return staticOrigin;
+            }
+            return requestOrigin != null && allowedOrigins.contains(requestOrigin) ? requestOrigin : null;
+        }
     }
 }
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Meters the exceptions thrown while processing requests per exception type and endpoint, named
+ * {@code <resource class>.<method>.exceptions.<exception>}, or
+ * {@code WebserviceRequestEventListener.exceptions.unmatched.<exception>} when no resource method was matched.
+ */
+public class ExceptionMetrics {
+
+    private static final String EXCEPTIONS = "exceptions";
+
+    private final MetricRegistry metricRegistry;
+
+    private final Map<ResourceMethod, Map<Class<?>, Meter>> endpointMeters = new ConcurrentHashMap<>();
+
+    private final Map<Class<?>, Meter> unmatchedMeters = new ConcurrentHashMap<>();
+
+    public ExceptionMetrics(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    public void mark(ResourceMethod resourceMethod, Throwable exception) {
+        final Class<?> exceptionClass = exception.getClass();
+        final Map<Class<?>, Meter> meters = resourceMethod == null ? unmatchedMeters
+                : endpointMeters.computeIfAbsent(resourceMethod, m -> new ConcurrentHashMap<>());
+
+        Meter meter = meters.get(exceptionClass);
+        if (meter == null) {
+            meter = meters.computeIfAbsent(exceptionClass, c -> metricRegistry.meter(metricName(resourceMethod, c)));
+        }
+        meter.mark();
+    }
+
+    private static String metricName(ResourceMethod resourceMethod, Class<?> exceptionClass) {
+        if (resourceMethod == null || resourceMethod.getInvocable() == null) {
+            return MetricRegistry.name(WebserviceRequestEventListener.class, EXCEPTIONS, "unmatched", exceptionClass.getSimpleName());
+        }
+
+        final Method definitionMethod = resourceMethod.getInvocable().getDefinitionMethod();
+        return MetricRegistry.name(definitionMethod.getDeclaringClass(), definitionMethod.getName(), EXCEPTIONS, exceptionClass.getSimpleName());
+    }
+}
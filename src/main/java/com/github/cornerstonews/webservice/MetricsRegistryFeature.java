@@ -17,7 +17,9 @@
 package com.github.cornerstonews.webservice;
 
 import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadPoolExecutor;
 
+import com.codahale.metrics.Gauge;
 import com.codahale.metrics.jmx.JmxReporter;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.jvm.BufferPoolMetricSet;
@@ -48,6 +50,16 @@ public class MetricsRegistryFeature {
         jmxReporter.start();
     }
 
+    /**
+     * Registers queue depth, active threads and pool size gauges of the given executor under {@code name}.
+     */
+    public void registerExecutor(String name, ThreadPoolExecutor executor) {
+        this.metricRegistry.register(MetricRegistry.name(name, "queue", "depth"), (Gauge<Integer>) () -> executor.getQueue().size());
+        this.metricRegistry.register(MetricRegistry.name(name, "queue", "remaining"), (Gauge<Integer>) () -> executor.getQueue().remainingCapacity());
+        this.metricRegistry.register(MetricRegistry.name(name, "threads", "active"), (Gauge<Integer>) executor::getActiveCount);
+        this.metricRegistry.register(MetricRegistry.name(name, "threads", "pool"), (Gauge<Integer>) executor::getPoolSize);
+    }
+
     protected void deregisterMetrics() {
         if (jmxReporter != null) {
             jmxReporter.close();
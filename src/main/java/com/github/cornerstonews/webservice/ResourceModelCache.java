@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.TypeResolver;
+
+/**
+ * Jersey resource models of the application classes, introspected once with {@link Resource#from(Class)} and shared
+ * by the endpoint logger and the features which need them. Classes are introspected in parallel, including the types
+ * returned by their sub-resource locators.
+ */
+public class ResourceModelCache {
+
+    private final ConcurrentMap<Class<?>, Optional<Resource>> resources = new ConcurrentHashMap<>();
+
+    private final TypeResolver typeResolver = new TypeResolver();
+
+    /**
+     * @return the resource model of the class, or {@code null} when the class is not a resource
+     */
+    public Resource get(Class<?> klass) {
+        return resources.computeIfAbsent(klass, k -> Optional.ofNullable(Resource.from(k))).orElse(null);
+    }
+
+    /**
+     * @return the class of the sub-resource returned by the locator, the first type argument for generic types
+     */
+    public Class<?> getLocatorType(ResourceMethod locator) {
+        final ResolvedType responseType = typeResolver.resolve(locator.getInvocable().getResponseType());
+        return !responseType.getTypeBindings().isEmpty() ? responseType.getTypeBindings().getBoundType(0).getErasedType()
+                : responseType.getErasedType();
+    }
+
+    /**
+     * Introspects the classes in parallel, on the calling thread and the common fork join pool.
+     */
+    public void introspect(Collection<Class<?>> classes) {
+        classes.parallelStream().forEach(this::introspect);
+    }
+
+    /**
+     * @return the classes, other than interfaces, which are resources
+     */
+    public Set<Class<?>> getResourceClasses(Collection<Class<?>> classes) {
+        final Set<Class<?>> candidates = new HashSet<>();
+        classes.forEach(c -> {
+            if (!c.isInterface()) {
+                candidates.add(c);
+            }
+        });
+        introspect(candidates);
+        candidates.removeIf(c -> get(c) == null);
+        return candidates;
+    }
+
+    /**
+     * Introspects the classes in the background.
+     */
+    public CompletableFuture<Void> introspectAsync(Collection<Class<?>> classes) {
+        return CompletableFuture.runAsync(() -> introspect(classes));
+    }
+
+    private void introspect(Class<?> klass) {
+        final Resource resource = get(klass);
+        if (resource == null) {
+            return;
+        }
+
+        for (Resource childResource : resource.getChildResources()) {
+            for (ResourceMethod method : childResource.getAllMethods()) {
+                if (method.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
+                    final Class<?> locatorType = getLocatorType(method);
+                    if (!resources.containsKey(locatorType)) {
+                        introspect(locatorType);
+                    }
+                }
+            }
+        }
+    }
+}
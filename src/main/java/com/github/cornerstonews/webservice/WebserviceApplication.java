@@ -18,10 +18,12 @@ package com.github.cornerstonews.webservice;
 
 import java.io.IOException;
 import java.lang.annotation.Annotation;
+import java.nio.charset.StandardCharsets;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.inject.Singleton;
 import javax.ws.rs.Path;
@@ -34,11 +36,13 @@ import org.apache.logging.log4j.Logger;
 import org.glassfish.hk2.api.InjectionResolver;
 import org.glassfish.hk2.api.TypeLiteral;
 import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.CommonProperties;
+import org.glassfish.jersey.jackson.JacksonFeature;
 import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
 import org.glassfish.jersey.server.ResourceConfig;
 import org.glassfish.jersey.server.ServerProperties;
 import org.glassfish.jersey.server.filter.CsrfProtectionFilter;
-import org.glassfish.jersey.server.filter.RolesAllowedDynamicFeature;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.monitoring.ApplicationEvent;
 import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
@@ -53,11 +57,28 @@ import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.jersey2.InstrumentedResourceMethodApplicationListener;
 import com.github.cornerstonews.configuration.ConfigException;
 import com.github.cornerstonews.configuration.ConfigFactory;
+import com.github.cornerstonews.webservice.async.ContextPropagatingExecutorService;
+import com.github.cornerstonews.webservice.async.ManagedAsyncExecutorProvider;
+import com.github.cornerstonews.webservice.async.ManagedAsyncModelProcessor;
+import com.github.cornerstonews.webservice.async.ManagedExecutors;
+import com.github.cornerstonews.webservice.async.VirtualThreads;
 import com.github.cornerstonews.webservice.authorization.AdminRoleFilter;
+import com.github.cornerstonews.webservice.authorization.ApiKeyAuthenticationFilter;
+import com.github.cornerstonews.webservice.authorization.AuthenticationDecisionFeature;
+import com.github.cornerstonews.webservice.authorization.AuthenticationDecisions;
 import com.github.cornerstonews.webservice.authorization.DefaultAuthenticationFilter;
+import com.github.cornerstonews.webservice.authorization.MonitorRoleFilter;
+import com.github.cornerstonews.webservice.authorization.RoleRegistry;
+import com.github.cornerstonews.webservice.authorization.RolesAllowedFeature;
+import com.github.cornerstonews.webservice.cache.CachePolicyFeature;
+import com.github.cornerstonews.webservice.cache.CoalescingFeature;
+import com.github.cornerstonews.webservice.cache.EntityTagVariantFilter;
+import com.github.cornerstonews.webservice.cache.ResponseCacheFeature;
+import com.github.cornerstonews.webservice.cache.ResponseCacheStore;
 import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
 import com.github.cornerstonews.webservice.configuration.injection.Config;
 import com.github.cornerstonews.webservice.configuration.injection.ConfigInjectionResolver;
+import com.github.cornerstonews.webservice.encoding.CompressionWriterInterceptor;
 import com.github.cornerstonews.webservice.exception.mapper.JavaLangErrorMapper;
 import com.github.cornerstonews.webservice.exception.mapper.NotAcceptableExceptionMapper;
 import com.github.cornerstonews.webservice.exception.mapper.NotModifiedExceptionMapper;
@@ -65,10 +86,19 @@ import com.github.cornerstonews.webservice.exception.mapper.ValidationExceptionM
 import com.github.cornerstonews.webservice.exception.mapper.WebApplicationExceptionMapper;
 import com.github.cornerstonews.webservice.exception.mapper.WsErrorMessageBodyWriter;
 import com.github.cornerstonews.webservice.exception.mapper.WsThrowableMapper;
+import com.github.cornerstonews.webservice.limit.RequestLimitFeature;
+import com.github.cornerstonews.webservice.limit.RequestLimits;
+import com.github.cornerstonews.webservice.provider.CborProvider;
+import com.github.cornerstonews.webservice.provider.FileRegionMessageBodyWriter;
+import com.github.cornerstonews.webservice.provider.ObjectMapperProvider;
+import com.github.cornerstonews.webservice.provider.StreamingCollectionMessageBodyWriter;
+import com.github.cornerstonews.webservice.provider.StreamingPagedDataObjectMessageBodyWriter;
+import com.github.cornerstonews.webservice.resource.EndpointsResource;
 import com.github.cornerstonews.webservice.resource.HealthCheckResource;
 import com.github.cornerstonews.webservice.resource.LoggerResource;
 import com.github.cornerstonews.webservice.resource.MetricsResource;
 import com.github.cornerstonews.webservice.util.ClassFinder;
+import com.github.cornerstonews.webservice.util.CursorCodec;
 import com.github.cornerstonews.webservice.util.Generics;
 
 public abstract class WebserviceApplication<T extends BaseWebserviceConfig> extends ResourceConfig {
@@ -80,6 +110,8 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
     private MetricsRegistryFeature metricsRegistryFeature;
     private boolean metricsAreRegistered;
     private HealthCheckRegistry healthCheckRegistry;
+    private ManagedExecutors managedExecutors;
+    private final ResourceModelCache resourceModelCache = new ResourceModelCache();
 
     public WebserviceApplication(String applicationName) {
         super();
@@ -148,13 +180,32 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
 
     private final void registerDefaults() {
 
+        // Intern configured roles before any principal is created so their checks use role bitmasks
+        RoleRegistry.register(this.configuration.getAdminResourceRole());
+        RoleRegistry.register(this.configuration.getMonitorResourceRole());
+
         this.registerMetrics(new MetricsRegistryFeature());
 
         this.registerHealthCheckRegistry();
 
         registerApplicationEventListener();
+        this.registerResourceModelCache();
+        this.registerAsyncExecution();
+        this.registerManagedExecutors();
 
         register(MultiPartFeature.class);
+        this.registerEntityLimits();
+        this.registerJsonProvider();
+        register(CachePolicyFeature.class);
+        register(EntityTagVariantFilter.class);
+        this.registerResponseCache();
+        register(new CoalescingFeature(this.metricsRegistryFeature.getMetricRegistry()));
+        this.registerCursorCodec();
+
+        if (this.configuration.getCompression().isEnabled()) {
+            BaseWebserviceConfig.Compression compression = this.configuration.getCompression();
+            register(new CompressionWriterInterceptor(compression.getLevel(), compression.getMinSizeInBytes()));
+        }
 
         if (this.configuration.isRegisterCSRFFilter()) {
             register(new CsrfProtectionFilter());
@@ -165,10 +216,15 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
         }
 
         if (this.configuration.isEnableAuthenticationAndRoles()) {
+            this.registerAuthenticationDecisions(new AuthenticationDecisions());
+            if (this.configuration.getApiKey() != null && this.configuration.getApiKey().getKeyFile() != null) {
+                log.debug("Registering ApiKeyAuthenticationFilter.class");
+                register(ApiKeyAuthenticationFilter.class);
+            }
             log.debug("Registering DefaultAuthenticationFilter.class");
             register(DefaultAuthenticationFilter.class);
-            log.debug("Registering RolesAllowedDynamicFeature.class");
-            register(RolesAllowedDynamicFeature.class);
+            log.debug("Registering RolesAllowedFeature.class");
+            register(RolesAllowedFeature.class);
         }
 
         if (this.configuration.isRegisterServerProperties()) {
@@ -182,20 +238,28 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
         register(ValidationExceptionMapper.class);
         register(WebApplicationExceptionMapper.class);
         register(WsErrorMessageBodyWriter.class);
+        register(StreamingPagedDataObjectMessageBodyWriter.class);
+        register(StreamingCollectionMessageBodyWriter.class);
+        register(FileRegionMessageBodyWriter.class);
         register(WsThrowableMapper.class);
         findAndRegisterMappers();
 
         // Register resources
         register(LoggerResource.class);
+        // The route inventory is only served to callers with the monitor role, never when no role is configured
+        if (!this.configuration.getMonitorResourceRole().isEmpty() && !this.configuration.getAdminResourceRole().isEmpty()) {
+            register(EndpointsResource.class);
+        }
         register(AdminRoleFilter.class);
+        register(MonitorRoleFilter.class);
 
     }
 
     private void findAndRegisterMappers() {
         try {
-            ClassFinder classFinder = new ClassFinder(ExceptionMapper.class, "com.github.cornerstonews");
+            ClassFinder classFinder = new ClassFinder(ExceptionMapper.class, "com.github.cornerstonews", Provider.class);
             classFinder.getClasses().forEach(c -> {
-                if (c.isAnnotationPresent(Provider.class)) {
+                if (!isRegistered(c)) {
                     log.debug("Registering exception mapper: {}", c.getName());
                     register(c);
                 }
@@ -224,6 +288,110 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
         metricsAreRegistered = true;
     }
 
+    private void registerAsyncExecution() {
+        final BaseWebserviceConfig.AsyncExecution asyncExecution = this.configuration.getAsyncExecution();
+        final String mode = asyncExecution.getMode();
+        if (!"annotated".equalsIgnoreCase(mode) && !"all".equalsIgnoreCase(mode)) {
+            return;
+        }
+
+        String threads = "platform";
+        ExecutorService executor = null;
+        if ("virtual".equalsIgnoreCase(asyncExecution.getThreads())) {
+            executor = VirtualThreads.newVirtualThreadPerTaskExecutor();
+            if (executor == null) {
+                log.warn("Virtual threads are not supported by this runtime, using {} platform threads.", asyncExecution.getPlatformThreads());
+            } else {
+                threads = "virtual";
+            }
+        }
+        if (executor == null) {
+            executor = ManagedAsyncExecutorProvider.newPlatformThreadPool(asyncExecution.getPlatformThreads(), asyncExecution.getPlatformQueueSize());
+        }
+
+        log.debug("Dispatching {} resource methods to {} threads.", mode, threads);
+        register(new ManagedAsyncExecutorProvider(new ContextPropagatingExecutorService(executor,
+                this.metricsRegistryFeature.getMetricRegistry(), MetricRegistry.name(ManagedAsyncExecutorProvider.class, threads))));
+        if ("all".equalsIgnoreCase(mode)) {
+            register(ManagedAsyncModelProcessor.class);
+        }
+    }
+
+    private void registerManagedExecutors() {
+        this.managedExecutors = new ManagedExecutors(this.configuration.getManagedExecutors(), this.metricsRegistryFeature);
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(managedExecutors).to(ManagedExecutors.class);
+            }
+        });
+    }
+
+    private void registerAuthenticationDecisions(AuthenticationDecisions authenticationDecisions) {
+        register(new AuthenticationDecisionFeature(authenticationDecisions));
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(authenticationDecisions).to(AuthenticationDecisions.class);
+            }
+        });
+    }
+
+    private void registerEntityLimits() {
+        final BaseWebserviceConfig.EntityLimits entityLimits = this.configuration.getEntityLimits();
+        register(new RequestLimitFeature(new RequestLimits(entityLimits.getMaxEntitySizeInBytes(), entityLimits.getMaxJsonDepth(),
+                entityLimits.getMaxParts(), entityLimits.getMaxPartSizeInBytes())));
+        // The multipart reader only takes its settings from a ContextResolver, not from the application properties
+        register(new MultiPartProperties().bufferThreshold(entityLimits.getMultipartBufferThresholdInBytes()).resolver());
+    }
+
+    private void registerJsonProvider() {
+        register(new ObjectMapperProvider());
+
+        if ("jackson".equalsIgnoreCase(this.configuration.getJsonProvider())) {
+            log.debug("Registering Jackson as JSON provider.");
+            property(CommonProperties.MOXY_JSON_FEATURE_DISABLE, Boolean.TRUE);
+            register(JacksonFeature.withoutExceptionMappers());
+        }
+
+        if (this.configuration.isRegisterCBORProvider()) {
+            register(CborProvider.class);
+        }
+    }
+
+    private void registerResponseCache() {
+        final BaseWebserviceConfig.ResponseCache cacheConfig = this.configuration.getResponseCache();
+        final ResponseCacheStore store = new ResponseCacheStore(cacheConfig.getMaxEntries(), cacheConfig.getMaxSizeInBytes(),
+                cacheConfig.getMaxEntrySizeInBytes());
+        register(new ResponseCacheFeature(store));
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(store).to(ResponseCacheStore.class);
+            }
+        });
+    }
+
+    private void registerResourceModelCache() {
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(resourceModelCache).to(ResourceModelCache.class);
+            }
+        });
+    }
+
+    private void registerCursorCodec() {
+        final String secretKey = this.configuration.getCursorSecretKey();
+        final CursorCodec cursorCodec = secretKey == null ? new CursorCodec() : new CursorCodec(secretKey.getBytes(StandardCharsets.UTF_8));
+        register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(cursorCodec).to(CursorCodec.class);
+            }
+        });
+    }
+
     private void registerHealthCheckRegistry() {
         this.healthCheckRegistry = new HealthCheckRegistry();
         register(new AbstractBinder() {
@@ -237,6 +405,7 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
 
     protected void destroyDefaults() {
         this.getHealthchecks().shutdown();
+        this.managedExecutors.shutdown();
         this.metricsRegistryFeature.deregisterMetrics();
     }
 
@@ -263,7 +432,7 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
     }
 
     protected ContainerResponseFilter getCORSFilter() {
-        return new CORSFilter();
+        return new CORSFilter(this.configuration.getCorsFilter());
     }
 
     protected Map<String, Boolean> getServerProperties() {
@@ -287,12 +456,14 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
         private Timer connectionTimer;
         private Counter activeRequests;
         private MetricRegistry metricRegistry;
+        private ExceptionMetrics exceptionMetrics;
 
         public WebserviceApplicationEventListener(MetricRegistry metricRegistry) {
             this.metricRegistry = metricRegistry;
 
             this.connectionTimer = this.metricRegistry.timer(MetricRegistry.name(WebserviceRequestEventListener.class, "connections"));
             this.activeRequests = this.metricRegistry.counter(MetricRegistry.name(WebserviceRequestEventListener.class, "active-requests"));
+            this.exceptionMetrics = new ExceptionMetrics(this.metricRegistry);
             this.responses = new Meter[] { this.metricRegistry.meter(MetricRegistry.name(WebserviceRequestEventListener.class, "1xx-responses")), // 1xx
                     this.metricRegistry.meter(MetricRegistry.name(WebserviceRequestEventListener.class, "2xx-responses")), // 2xx
                     this.metricRegistry.meter(MetricRegistry.name(WebserviceRequestEventListener.class, "3xx-responses")), // 3xx
@@ -353,7 +524,7 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
             final StringBuilder providersSB = new StringBuilder();
             providersSB.append("The following provider classes were found:").append(newline).append(newline);
 
-            final Set<Class<?>> allResourcesClasses = new HashSet<>();
+            final Set<Class<?>> candidates = new HashSet<>();
 
             classes.forEach(c -> {
                 if (c.isAnnotationPresent((Class<? extends Annotation>) Path.class)) {
@@ -364,19 +535,26 @@ public abstract class WebserviceApplication<T extends BaseWebserviceConfig> exte
                     providersSB.append("    - ").append(c.getCanonicalName()).append(newline);
                 }
 
-                if (!c.isInterface() && Resource.from(c) != null) {
-                    allResourcesClasses.add(c);
+                if (!c.isInterface()) {
+                    candidates.add(c);
                 }
             });
 
             log2.info(resourcesSB.toString());
             log2.info(providersSB.toString());
-            log2.info(new WebserviceEnpointLogger().getEndpointsInfo(allResourcesClasses, allResources));
+
+            if (!configuration.isLogEndpoints()) {
+                resourceModelCache.introspectAsync(candidates);
+                return;
+            }
+
+            final Set<Class<?>> allResourcesClasses = resourceModelCache.getResourceClasses(candidates);
+            log2.info(new WebserviceEnpointLogger(resourceModelCache).getEndpointsInfo(allResourcesClasses, allResources));
         }
 
         @Override
         public RequestEventListener onRequest(RequestEvent requestEvent) {
-            return new WebserviceRequestEventListener(this.requestCnt, this.activeRequests, this.connectionTimer, this.responses);
+            return new WebserviceRequestEventListener(this.requestCnt, this.activeRequests, this.connectionTimer, this.responses, this.exceptionMetrics);
         }
 
     }
@@ -17,29 +17,79 @@
 package com.github.cornerstonews.webservice;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Set;
 import java.util.TreeSet;
 import java.util.regex.Pattern;
 
+import javax.annotation.security.DenyAll;
+import javax.annotation.security.PermitAll;
+import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.model.AnnotatedMethod;
 import org.glassfish.jersey.server.model.Resource;
 import org.glassfish.jersey.server.model.ResourceMethod;
 
-import com.fasterxml.classmate.ResolvedType;
-import com.fasterxml.classmate.TypeResolver;
+import com.github.cornerstonews.webservice.authorization.AdminRole;
+import com.github.cornerstonews.webservice.authorization.MonitorRole;
+import com.github.cornerstonews.webservice.cache.CachePolicy;
+import com.github.cornerstonews.webservice.cache.CachePolicyFeature;
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+import com.github.cornerstonews.webservice.model.Endpoint;
 
 public class WebserviceEnpointLogger {
     private static final String NEWLINE = String.format("%n");
+
+    private final ResourceModelCache resourceModelCache;
+
+    public WebserviceEnpointLogger() {
+        this(new ResourceModelCache());
+    }
+
+    public WebserviceEnpointLogger(ResourceModelCache resourceModelCache) {
+        this.resourceModelCache = resourceModelCache;
+    }
     
     public String getEndpointsInfo(Set<Class<?>> allResourcesClasses, Set<Resource> allResources) {
         final StringBuilder msg = new StringBuilder(1024);
-        final Set<EndpointLogLine> endpointLogLines = new TreeSet<>(new EndpointComparator());
+        final Set<EndpointLogLine> endpointLogLines = getEndpointLogLines(allResourcesClasses, allResources);
 
         msg.append("The following paths were found for the configured resources:");
         msg.append(NEWLINE).append(NEWLINE);
 
+        if (!endpointLogLines.isEmpty()) {
+            for (EndpointLogLine line : endpointLogLines) {
+                msg.append(line).append(NEWLINE);
+            }
+        } else {
+            msg.append("    NONE").append(NEWLINE);
+        }
+
+        return msg.toString();
+    }
+
+    /**
+     * Same endpoints as {@link #getEndpointsInfo(Set, Set)}, in the same order, with the media types, the declared
+     * roles and the cache policy of each resource method.
+     */
+    public List<Endpoint> getEndpoints(Set<Class<?>> allResourcesClasses, Set<Resource> allResources, BaseWebserviceConfig config) {
+        final List<Endpoint> endpoints = new ArrayList<>();
+        for (EndpointLogLine line : getEndpointLogLines(allResourcesClasses, allResources)) {
+            endpoints.add(line.toEndpoint(config));
+        }
+        return endpoints;
+    }
+
+    private Set<EndpointLogLine> getEndpointLogLines(Set<Class<?>> allResourcesClasses, Set<Resource> allResources) {
+        final Set<EndpointLogLine> endpointLogLines = new TreeSet<>(new EndpointComparator());
+
         for (Class<?> klass : allResourcesClasses) {
-            new EndpointLogger("/*", klass).populate(endpointLogLines);
+            new EndpointLogger("/*", klass, resourceModelCache).populate(endpointLogLines);
         }
 
         for (Resource res : allResources) {
@@ -50,21 +100,13 @@ public class WebserviceEnpointLogger {
                 // related to the OPTIONS method and @Consumes/@Produces annotations.
                 
                 for (Class<?> childResHandlerClass : childRes.getHandlerClasses()) {
-                    EndpointLogger epl = new EndpointLogger("/*", childResHandlerClass);
+                    EndpointLogger epl = new EndpointLogger("/*", childResHandlerClass, resourceModelCache);
                     epl.populate(cleanUpPath(res.getPath() + epl.rootPath), epl.klass, false, childRes, endpointLogLines);
                 }
             }
         }
 
-        if (!endpointLogLines.isEmpty()) {
-            for (EndpointLogLine line : endpointLogLines) {
-                msg.append(line).append(NEWLINE);
-            }
-        } else {
-            msg.append("    NONE").append(NEWLINE);
-        }
-
-        return msg.toString();
+        return endpointLogLines;
     }
 
     private static final Pattern PATH_DIRTY_SLASHES = Pattern.compile("\\s*/\\s*/+\\s*");
@@ -80,10 +122,12 @@ public class WebserviceEnpointLogger {
     private static class EndpointLogger {
         private final String rootPath;
         private final Class<?> klass;
+        private final ResourceModelCache resourceModelCache;
 
-        public EndpointLogger(String urlPattern, Class<?> klass) {
+        public EndpointLogger(String urlPattern, Class<?> klass, ResourceModelCache resourceModelCache) {
             this.rootPath = urlPattern.endsWith("/*") ? urlPattern.substring(0, urlPattern.length() - 1) : urlPattern;
             this.klass = klass;
+            this.resourceModelCache = resourceModelCache;
         }
 
         public void populate(Set<EndpointLogLine> endpointLogLines) {
@@ -91,7 +135,7 @@ public class WebserviceEnpointLogger {
         }
 
         private void populate(String basePath, Class<?> klass, boolean isLocator, Set<EndpointLogLine> endpointLogLines) {
-            populate(basePath, klass, isLocator, Resource.from(klass), endpointLogLines);
+            populate(basePath, klass, isLocator, resourceModelCache.get(klass), endpointLogLines);
         }
 
         private void populate(String basePath, Class<?> klass, boolean isLocator, Resource resource, Set<EndpointLogLine> endpointLogLines) {
@@ -100,22 +144,19 @@ public class WebserviceEnpointLogger {
             }
 
             for (ResourceMethod method : resource.getResourceMethods()) {
-                endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), basePath, klass));
+                endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), basePath, klass, method));
             }
 
-            final TypeResolver typeResolver = new TypeResolver();
             for (Resource childResource : resource.getChildResources()) {
                 for (ResourceMethod method : childResource.getAllMethods()) {
                     if (method.getType() == ResourceMethod.JaxrsType.RESOURCE_METHOD) {
                         final String path = normalizePath(basePath, childResource.getPath());
-                        endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), path, klass));
+                        endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), path, klass, method));
                     } else if (method.getType() == ResourceMethod.JaxrsType.SUB_RESOURCE_LOCATOR) {
                         final String path = normalizePath(basePath, childResource.getPath());
-                        final ResolvedType responseType = typeResolver.resolve(method.getInvocable().getResponseType());
-                        final Class<?> erasedType = !responseType.getTypeBindings().isEmpty() ? responseType.getTypeBindings().getBoundType(0).getErasedType()
-                                : responseType.getErasedType();
-                        if (Resource.from(erasedType) == null) {
-                            endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), path, erasedType));
+                        final Class<?> erasedType = resourceModelCache.getLocatorType(method);
+                        if (resourceModelCache.get(erasedType) == null) {
+                            endpointLogLines.add(new EndpointLogLine(method.getHttpMethod(), path, erasedType, null));
                         } else {
                             populate(path, erasedType, true, endpointLogLines);
                         }
@@ -139,11 +180,77 @@ public class WebserviceEnpointLogger {
         private final String httpMethod;
         private final String basePath;
         private final Class<?> klass;
+        private final ResourceMethod resourceMethod;
 
-        EndpointLogLine(String httpMethod, String basePath, Class<?> klass) {
+        EndpointLogLine(String httpMethod, String basePath, Class<?> klass, ResourceMethod resourceMethod) {
             this.basePath = basePath;
             this.klass = klass;
             this.httpMethod = httpMethod;
+            this.resourceMethod = resourceMethod;
+        }
+
+        Endpoint toEndpoint(BaseWebserviceConfig config) {
+            final Endpoint endpoint = new Endpoint(httpMethod, basePath, klass.getName());
+            if (resourceMethod == null) {
+                return endpoint;
+            }
+
+            endpoint.setProduces(toStrings(resourceMethod.getProducedTypes()));
+            endpoint.setConsumes(toStrings(resourceMethod.getConsumedTypes()));
+
+            final AnnotatedMethod am = new AnnotatedMethod(resourceMethod.getInvocable().getDefinitionMethod());
+            endpoint.setRoles(getRoles(am, config));
+
+            CachePolicy policy = am.getAnnotation(CachePolicy.class);
+            if (policy == null) {
+                policy = klass.getAnnotation(CachePolicy.class);
+            }
+            if (policy != null) {
+                endpoint.setCachePolicy(CachePolicyFeature.toHeaderValue(policy));
+            }
+            return endpoint;
+        }
+
+        /*
+         * Same precedence as RolesAllowedFeature, null when any caller is allowed and empty when all are denied
+         */
+        private List<String> getRoles(AnnotatedMethod am, BaseWebserviceConfig config) {
+            if (am.isAnnotationPresent(DenyAll.class)) {
+                return Collections.emptyList();
+            }
+
+            RolesAllowed ra = am.getAnnotation(RolesAllowed.class);
+            if (ra == null && !am.isAnnotationPresent(PermitAll.class)) {
+                ra = klass.getAnnotation(RolesAllowed.class);
+            }
+            if (ra != null) {
+                return Arrays.asList(ra.value());
+            }
+
+            final String adminRole = config.getAdminResourceRole();
+            if (am.isAnnotationPresent(AdminRole.class) || klass.isAnnotationPresent(AdminRole.class)) {
+                // An empty admin role is never satisfied
+                return adminRole == null || adminRole.isEmpty() ? Collections.emptyList() : Collections.singletonList(adminRole);
+            }
+
+            final String monitorRole = config.getMonitorResourceRole();
+            if (am.isAnnotationPresent(MonitorRole.class) || klass.isAnnotationPresent(MonitorRole.class)) {
+                if (adminRole == null || adminRole.isEmpty() || monitorRole == null || monitorRole.isEmpty()) {
+                    return null;
+                }
+                return Arrays.asList(adminRole, monitorRole);
+            }
+            return null;
+        }
+
+        private static List<String> toStrings(List<MediaType> mediaTypes) {
+            if (mediaTypes.isEmpty()) {
+                return null;
+            }
+
+            final List<String> values = new ArrayList<>(mediaTypes.size());
+            mediaTypes.forEach(mediaType -> values.add(mediaType.toString()));
+            return values;
         }
 
         @Override
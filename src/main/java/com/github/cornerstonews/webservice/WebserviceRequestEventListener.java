@@ -39,9 +39,16 @@ public class WebserviceRequestEventListener implements RequestEventListener {
     private Counter activeRequests;
     private final Meter[] responses;
     private Timer.Context context = null;
+    private final ExceptionMetrics exceptionMetrics;
     
     public WebserviceRequestEventListener(int requestNumber, Counter activeRequests, Timer connectionTimer, final Meter[] responses) {
+        this(requestNumber, activeRequests, connectionTimer, responses, null);
+    }
+
+    public WebserviceRequestEventListener(int requestNumber, Counter activeRequests, Timer connectionTimer, final Meter[] responses,
+            ExceptionMetrics exceptionMetrics) {
         this.requestNumber = requestNumber;
+        this.exceptionMetrics = exceptionMetrics;
         this.activeRequests = activeRequests;
         this.activeRequests.inc();
         this.connectionTimer = connectionTimer;
@@ -74,6 +81,9 @@ public class WebserviceRequestEventListener implements RequestEventListener {
             case MATCHING_START:
                 break;
             case ON_EXCEPTION:
+                if (exceptionMetrics != null && event.getException() != null) {
+                    exceptionMetrics.mark(event.getUriInfo().getMatchedResourceMethod(), event.getException());
+                }
                 break;
             case REQUEST_FILTERED:
                 break;
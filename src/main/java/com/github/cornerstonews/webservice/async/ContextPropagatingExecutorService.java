@@ -0,0 +1,103 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+
+/**
+ * Executor service running tasks with the log4j {@link ThreadContext} of the submitting thread, so request ids and
+ * other diagnostic context logged by a request keep being logged after it is dispatched to another thread. Tasks are
+ * measured under {@code <name>.waiting} (submission to start), {@code <name>.execution} and {@code <name>.active}.
+ * <p>
+ * Jersey request scoped state, such as the request {@code SecurityContext}, is carried over by Jersey itself.
+ */
+public class ContextPropagatingExecutorService extends AbstractExecutorService {
+
+    private final ExecutorService delegate;
+    private final Timer waiting;
+    private final Timer execution;
+    private final Counter active;
+
+    public ContextPropagatingExecutorService(ExecutorService delegate, MetricRegistry metricRegistry, String name) {
+        this.delegate = delegate;
+        this.waiting = metricRegistry.timer(MetricRegistry.name(name, "waiting"));
+        this.execution = metricRegistry.timer(MetricRegistry.name(name, "execution"));
+        this.active = metricRegistry.counter(MetricRegistry.name(name, "active"));
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        final Map<String, String> context = ThreadContext.getImmutableContext();
+        final ThreadContext.ContextStack stack = ThreadContext.getImmutableStack();
+        final Timer.Context queued = waiting.time();
+
+        delegate.execute(() -> {
+            queued.stop();
+            if (!context.isEmpty()) {
+                ThreadContext.putAll(context);
+            }
+            if (stack.getDepth() > 0) {
+                ThreadContext.setStack(stack.asList());
+            }
+
+            active.inc();
+            final Timer.Context running = execution.time();
+            try {
+                command.run();
+            } finally {
+                running.stop();
+                active.dec();
+                ThreadContext.clearAll();
+            }
+        });
+    }
+
+    @Override
+    public void shutdown() {
+        delegate.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+        return delegate.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+        return delegate.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+        return delegate.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+        return delegate.awaitTermination(timeout, unit);
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ManagedAsyncExecutor;
+import org.glassfish.jersey.spi.ExecutorServiceProvider;
+
+import com.github.cornerstonews.webservice.exception.ExecutorRejectedException;
+
+/**
+ * Provides the executor Jersey dispatches {@link ManagedAsync} resource methods to, replacing Jersey's default
+ * cached thread pool.
+ */
+@ManagedAsyncExecutor
+public class ManagedAsyncExecutorProvider implements ExecutorServiceProvider {
+
+    private static final String REJECTED = "Server is too busy to process the request.";
+
+    private final ExecutorService executorService;
+
+    public ManagedAsyncExecutorProvider(ExecutorService executorService) {
+        this.executorService = executorService;
+    }
+
+    @Override
+    public ExecutorService getExecutorService() {
+        return executorService;
+    }
+
+    /**
+     * @return a pool of at most {@code threads} daemon platform threads, idle threads are released after a minute.
+     *         Tasks beyond {@code queueSize} waiting ones (none when {@code 0}) are rejected with
+     *         {@link ExecutorRejectedException} (503).
+     */
+    public static ExecutorService newPlatformThreadPool(int threads, int queueSize) {
+        final AtomicInteger count = new AtomicInteger();
+        final BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+        final ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, r -> {
+            final Thread thread = new Thread(r, "ws-async-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, (r, e) -> {
+            // thrown out of the dispatch on the container thread, where it is mapped like any resource exception
+            throw new ExecutorRejectedException(REJECTED);
+        });
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    @Override
+    public void dispose(ExecutorService executorService) {
+        executorService.shutdown();
+    }
+}
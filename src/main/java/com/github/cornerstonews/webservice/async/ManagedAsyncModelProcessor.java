@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import javax.ws.rs.core.Configuration;
+
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.model.ModelProcessor;
+import org.glassfish.jersey.server.model.Resource;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.model.ResourceModel;
+
+/**
+ * Makes every resource method {@link ManagedAsync}, so all requests are suspended on the container thread and
+ * processed on the managed async executor. Methods which already suspend the response themselves are left
+ * unchanged.
+ */
+public class ManagedAsyncModelProcessor implements ModelProcessor {
+
+    @Override
+    public ResourceModel processResourceModel(ResourceModel resourceModel, Configuration configuration) {
+        final ResourceModel.Builder builder = new ResourceModel.Builder(false);
+        for (Resource resource : resourceModel.getResources()) {
+            builder.addResource(process(resource));
+        }
+        return builder.build();
+    }
+
+    @Override
+    public ResourceModel processSubResource(ResourceModel subResourceModel, Configuration configuration) {
+        return subResourceModel;
+    }
+
+    private static Resource process(Resource resource) {
+        final Resource.Builder builder = Resource.builder(resource);
+        for (ResourceMethod method : resource.getResourceMethods()) {
+            if (!method.isSuspendDeclared() && !method.isManagedAsyncDeclared() && !method.isSse()) {
+                builder.updateMethod(method).managedAsync().build();
+            }
+        }
+        for (Resource child : resource.getChildResources()) {
+            builder.replaceChildResource(child, process(child));
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,131 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+
+import javax.ws.rs.container.AsyncResponse;
+
+import com.codahale.metrics.Meter;
+import com.github.cornerstonews.webservice.exception.AsyncTimeoutException;
+import com.github.cornerstonews.webservice.exception.ExecutorRejectedException;
+
+/**
+ * Named bounded executor for asynchronous resource methods. Tasks which do not complete within the timeout fail with
+ * {@link AsyncTimeoutException} (504) and are interrupted, tasks rejected because the executor queue is full fail
+ * with {@link ExecutorRejectedException} (503). Both are mapped by the regular exception mappers when the returned
+ * stage is returned from a resource method, or when the result is resumed with {@link #resume(AsyncResponse, Supplier)}.
+ */
+public class ManagedExecutor {
+
+    private static final String TIMED_OUT = "Request processing timed out.";
+    private static final String REJECTED = "Server is too busy to process the request.";
+
+    private final String name;
+    private final ExecutorService executor;
+    private final ScheduledExecutorService scheduler;
+    private final long timeoutInMillis;
+    private final Meter rejected;
+    private final Meter timeouts;
+
+    ManagedExecutor(String name, ExecutorService executor, ScheduledExecutorService scheduler, long timeoutInMillis, Meter rejected,
+            Meter timeouts) {
+        this.name = name;
+        this.executor = executor;
+        this.scheduler = scheduler;
+        this.timeoutInMillis = timeoutInMillis;
+        this.rejected = rejected;
+        this.timeouts = timeouts;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Runs the supplier with the configured timeout of this executor.
+     */
+    public <T> CompletionStage<T> supplyAsync(Supplier<T> supplier) {
+        return supplyAsync(supplier, timeoutInMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Runs the supplier with the given timeout, 0 disables the timeout.
+     */
+    public <T> CompletionStage<T> supplyAsync(Supplier<T> supplier, long timeout, TimeUnit unit) {
+        final CompletableFuture<T> result = new CompletableFuture<>();
+        // Claimed by either the task or the timeout, so the loser has no side effects
+        final AtomicBoolean settled = new AtomicBoolean();
+
+        final Future<?> task;
+        try {
+            task = executor.submit(() -> {
+                try {
+                    final T value = supplier.get();
+                    if (settled.compareAndSet(false, true)) {
+                        result.complete(value);
+                    }
+                } catch (Throwable t) {
+                    if (settled.compareAndSet(false, true)) {
+                        result.completeExceptionally(t);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.mark();
+            result.completeExceptionally(new ExecutorRejectedException(REJECTED));
+            return result;
+        }
+
+        if (timeout > 0) {
+            final ScheduledFuture<?> timer = scheduler.schedule(() -> {
+                if (settled.compareAndSet(false, true)) {
+                    // metered and cancelled before completing, so observers of the failure see both
+                    timeouts.mark();
+                    task.cancel(true);
+                    result.completeExceptionally(new AsyncTimeoutException(TIMED_OUT));
+                }
+            }, timeout, unit);
+            result.whenComplete((value, error) -> timer.cancel(false));
+        }
+
+        return result;
+    }
+
+    /**
+     * Runs the supplier and resumes the suspended response with its result or failure.
+     */
+    public <T> void resume(AsyncResponse asyncResponse, Supplier<T> supplier) {
+        supplyAsync(supplier).whenComplete((value, error) -> {
+            if (error == null) {
+                asyncResponse.resume(value);
+            } else {
+                asyncResponse.resume(error instanceof CompletionException && error.getCause() != null ? error.getCause() : error);
+            }
+        });
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.cornerstonews.webservice.MetricsRegistryFeature;
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+
+/**
+ * The {@link ManagedExecutor}s defined in the configuration, injectable in resources:
+ *
+ * <pre>
+ * &#64;Inject
+ * private ManagedExecutors executors;
+ *
+ * &#64;GET
+ * public CompletionStage&lt;Item&gt; get() {
+ *     return executors.get("db").supplyAsync(() -&gt; dao.load());
+ * }
+ * </pre>
+ */
+public class ManagedExecutors {
+
+    public static final String METRICS_PREFIX = "executors";
+
+    private final Map<String, ManagedExecutor> executors;
+    private final Map<String, ThreadPoolExecutor> pools = new HashMap<>();
+    private final ScheduledThreadPoolExecutor scheduler;
+
+    public ManagedExecutors(Map<String, BaseWebserviceConfig.ManagedExecutor> config, MetricsRegistryFeature metricsRegistryFeature) {
+        this.scheduler = new ScheduledThreadPoolExecutor(1, daemonThreads("ws-executor-timeouts"));
+        this.scheduler.setRemoveOnCancelPolicy(true);
+
+        final MetricRegistry metricRegistry = metricsRegistryFeature.getMetricRegistry();
+        final Map<String, ManagedExecutor> managedExecutors = new HashMap<>();
+        for (Map.Entry<String, BaseWebserviceConfig.ManagedExecutor> entry : config.entrySet()) {
+            final String name = entry.getKey();
+            final BaseWebserviceConfig.ManagedExecutor executorConfig = entry.getValue();
+            final ThreadPoolExecutor pool = newBoundedThreadPool(name, executorConfig.getThreads(), executorConfig.getQueueSize());
+            pools.put(name, pool);
+
+            final String metricName = MetricRegistry.name(METRICS_PREFIX, name);
+            metricsRegistryFeature.registerExecutor(metricName, pool);
+            managedExecutors.put(name, new ManagedExecutor(name, new ContextPropagatingExecutorService(pool, metricRegistry, metricName),
+                    scheduler, TimeUnit.SECONDS.toMillis(executorConfig.getTimeoutInSeconds()),
+                    metricRegistry.meter(MetricRegistry.name(metricName, "rejected")),
+                    metricRegistry.meter(MetricRegistry.name(metricName, "timeouts"))));
+        }
+        this.executors = Collections.unmodifiableMap(managedExecutors);
+    }
+
+    /**
+     * @throws IllegalArgumentException when no executor with the given name is configured
+     */
+    public ManagedExecutor get(String name) {
+        final ManagedExecutor executor = executors.get(name);
+        if (executor == null) {
+            throw new IllegalArgumentException("No managed executor named '" + name + "' is configured.");
+        }
+        return executor;
+    }
+
+    public Map<String, ManagedExecutor> getExecutors() {
+        return executors;
+    }
+
+    public void shutdown() {
+        scheduler.shutdownNow();
+        for (ThreadPoolExecutor pool : pools.values()) {
+            pool.shutdown();
+        }
+    }
+
+    private static ThreadPoolExecutor newBoundedThreadPool(String name, int threads, int queueSize) {
+        final BlockingQueue<Runnable> queue = queueSize > 0 ? new ArrayBlockingQueue<>(queueSize) : new SynchronousQueue<>();
+        final ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, queue, daemonThreads("ws-" + name));
+        pool.allowCoreThreadTimeOut(true);
+        return pool;
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        final AtomicInteger count = new AtomicInteger();
+        return r -> {
+            final Thread thread = new Thread(r, prefix + "-" + count.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
@@ -31,13 +31,24 @@ public class AdminRoleFilter implements ContainerRequestFilter {
     @Config
     private BaseWebserviceConfig config;
 
+    private volatile RoleCheck roleCheck;
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
-        String adminRole = config.getAdminResourceRole();
-        if(adminRole != null && !adminRole.isEmpty() && requestContext.getSecurityContext().isUserInRole(adminRole)) {
+        if (getRoleCheck().isSatisfiedBy(requestContext.getSecurityContext())) {
             return;
         }
     
         requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).entity("User does not have required role.").build());
     }
+
+    private RoleCheck getRoleCheck() {
+        RoleCheck check = this.roleCheck;
+        if (check == null) {
+            // Empty admin role is never satisfied
+            check = RoleCheck.anyOf(config.getAdminResourceRole());
+            this.roleCheck = check;
+        }
+        return check;
+    }
 }
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.io.IOException;
+import java.nio.file.Paths;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+import com.github.cornerstonews.webservice.jwt.JWTAuthenticationFilter.JWTSecurityContext;
+import com.github.cornerstonews.webservice.jwt.JWTPrincipal;
+import com.github.cornerstonews.webservice.model.WsError;
+
+/**
+ * Authenticates machine clients by the static API key sent in the configured header. Runs after
+ * {@code JWTAuthenticationFilter} and before {@link DefaultAuthenticationFilter} rejects unauthenticated requests.
+ */
+@Provider
+//@PreMatching
+@Priority(Priorities.AUTHENTICATION + 600)
+public class ApiKeyAuthenticationFilter extends DefaultAuthenticationFilter {
+
+    private static final Logger log = LogManager.getLogger(ApiKeyAuthenticationFilter.class);
+
+    private static final String AUTHENTICATION_SCHEME = "ApiKey";
+
+    private volatile ApiKeyStore apiKeyStore;
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+
+        if (isAuthenticated(requestContext) || isWhitelisted(requestContext)) {
+            // continue to next auth filter
+            return;
+        }
+
+        BaseWebserviceConfig.ApiKey apiKeyConfig = config.getApiKey();
+        String apiKey = requestContext.getHeaderString(apiKeyConfig.getHeader());
+        if (apiKey == null || apiKey.isEmpty()) {
+            // continue to next auth filter
+            return;
+        }
+
+        JWTPrincipal principal = getApiKeyStore(apiKeyConfig).authenticate(apiKey);
+        if (principal == null) {
+            log.info("API key authentication failed for request to '{}'.", requestContext.getUriInfo().getPath());
+            abortWithUnauthorized(requestContext, new WsError("Provided API key is invalid."));
+            return;
+        }
+
+        requestContext.setSecurityContext(new JWTSecurityContext(principal, requestContext.getSecurityContext().isSecure(), AUTHENTICATION_SCHEME));
+    }
+
+    private ApiKeyStore getApiKeyStore(BaseWebserviceConfig.ApiKey apiKeyConfig) {
+        ApiKeyStore store = this.apiKeyStore;
+        if (store == null) {
+            synchronized (this) {
+                store = this.apiKeyStore;
+                if (store == null) {
+                    store = new ApiKeyStore(Paths.get(apiKeyConfig.getKeyFile()), apiKeyConfig.getCacheTtlInSeconds(), apiKeyConfig.getMaxCacheSize(),
+                            apiKeyConfig.getReloadCheckIntervalInSeconds(), apiKeyConfig.getRejectedCacheTtlInSeconds(), apiKeyConfig.isRequireKeyId());
+                    this.apiKeyStore = store;
+                }
+            }
+        }
+        return store;
+    }
+}
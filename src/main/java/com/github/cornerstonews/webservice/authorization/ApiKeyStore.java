@@ -0,0 +1,340 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.github.cornerstonews.webservice.crypto.BCryptHashEncoderDecoder;
+import com.github.cornerstonews.webservice.crypto.PBKDF2HashEncoderDecoder;
+import com.github.cornerstonews.webservice.jwt.JWTPrincipal;
+
+/**
+ * API keys loaded from a local file, one {@code name:hash:role1,role2} entry per line where hash is a BCrypt or PBKDF2
+ * encoded key. Lines starting with {@code #} are ignored.
+ * <p>
+ * Checking a key against the slow password hashes is done once; verified keys are cached by their HMAC digest (keyed
+ * with a random per process secret, so raw keys are never kept in memory) until the TTL expires, and rejected keys for
+ * a shorter TTL so repeating an invalid key does not cost any hashing. Both caches are lock free on lookups and evict
+ * their least recently used entries when full. The file is checked for modifications at most once per reload interval
+ * and reloaded without restart, which also clears the caches; a verification still running against the previous keys
+ * is not cached.
+ * <p>
+ * Keys of the form {@code name.secret}, whose prefix is the name of an entry, are only checked against the hashes of
+ * that entry. By default other keys are rejected without hashing. Without a required key id they are checked against
+ * all entries, so every distinct unknown key costs one slow hash per entry.
+ */
+public class ApiKeyStore {
+
+    private static final Logger log = LogManager.getLogger(ApiKeyStore.class);
+
+    private static final String HMAC_ALGORITHM = "HmacSHA256";
+    private static final String PBKDF2_ID = "$1409$";
+
+    private final Path keyFile;
+    private final long cacheTtlMillis;
+    private final long rejectedCacheTtlMillis;
+    private final boolean requireKeyId;
+    private final long reloadCheckIntervalMillis;
+
+    private final SecretKeySpec digestKey;
+    private final ThreadLocal<Mac> mac;
+
+    private final LruCache<VerifiedKey> verifiedKeys;
+    private final LruCache<Long> rejectedKeys;
+
+    private volatile Keys keys = new Keys(Collections.emptyList());
+    private volatile long keyFileLastModified = -1;
+    private volatile long nextReloadCheck = 0;
+
+    public ApiKeyStore(Path keyFile, int cacheTtlInSeconds, int maxCacheSize, int reloadCheckIntervalInSeconds) {
+        this(keyFile, cacheTtlInSeconds, maxCacheSize, reloadCheckIntervalInSeconds, 10, true);
+    }
+
+    public ApiKeyStore(Path keyFile, int cacheTtlInSeconds, int maxCacheSize, int reloadCheckIntervalInSeconds, int rejectedCacheTtlInSeconds,
+            boolean requireKeyId) {
+        this.keyFile = keyFile;
+        this.cacheTtlMillis = TimeUnit.SECONDS.toMillis(cacheTtlInSeconds);
+        this.rejectedCacheTtlMillis = TimeUnit.SECONDS.toMillis(rejectedCacheTtlInSeconds);
+        this.requireKeyId = requireKeyId;
+        this.verifiedKeys = new LruCache<>(maxCacheSize);
+        this.rejectedKeys = new LruCache<>(maxCacheSize);
+        this.reloadCheckIntervalMillis = TimeUnit.SECONDS.toMillis(reloadCheckIntervalInSeconds);
+
+        byte[] secret = new byte[32];
+        new SecureRandom().nextBytes(secret);
+        this.digestKey = new SecretKeySpec(secret, HMAC_ALGORITHM);
+        this.mac = ThreadLocal.withInitial(this::createMac);
+
+        reloadIfModified(System.currentTimeMillis());
+    }
+
+    /**
+     * Returns the principal the API key belongs to or null if the key is not valid.
+     */
+    public JWTPrincipal authenticate(String apiKey) {
+        long now = System.currentTimeMillis();
+        if (now >= nextReloadCheck) {
+            reloadIfModified(now);
+        }
+
+        String digest = digest(apiKey);
+        VerifiedKey verified = verifiedKeys.get(digest);
+        if (verified != null) {
+            if (verified.expiresAt > now) {
+                return verified.principal;
+            }
+            verifiedKeys.remove(digest, verified);
+        }
+
+        Long rejectedUntil = rejectedKeys.get(digest);
+        if (rejectedUntil != null) {
+            if (rejectedUntil > now) {
+                return null;
+            }
+            rejectedKeys.remove(digest, rejectedUntil);
+        }
+
+        Keys current = this.keys;
+        List<ApiKeyEntry> candidates = current.getCandidates(apiKey, requireKeyId);
+        for (ApiKeyEntry entry : candidates) {
+            if (matches(apiKey, entry.hash)) {
+                JWTPrincipal principal = new JWTPrincipal(entry.name, entry.roles);
+                cache(verifiedKeys, digest, new VerifiedKey(principal, now + cacheTtlMillis), current);
+                return principal;
+            }
+        }
+
+        cache(rejectedKeys, digest, now + rejectedCacheTtlMillis, current);
+        log.debug("Provided API key did not match any of the {} candidate keys.", candidates.size());
+        return null;
+    }
+
+    /*
+     * Keys reloaded while hashing cleared the caches before this verification could be cached, so it is dropped again
+     */
+    private <V> void cache(LruCache<V> cache, String digest, V value, Keys verifiedAgainst) {
+        cache.put(digest, value);
+        if (this.keys != verifiedAgainst) {
+            cache.remove(digest, value);
+        }
+    }
+
+    private synchronized void reloadIfModified(long now) {
+        if (now < nextReloadCheck) {
+            return;
+        }
+        nextReloadCheck = now + reloadCheckIntervalMillis;
+
+        try {
+            long lastModified = Files.getLastModifiedTime(keyFile).toMillis();
+            if (lastModified == keyFileLastModified) {
+                return;
+            }
+
+            List<ApiKeyEntry> loaded = load(keyFile);
+            // Replaced before the caches are cleared, see cache()
+            this.keys = new Keys(loaded);
+            this.keyFileLastModified = lastModified;
+            this.verifiedKeys.clear();
+            this.rejectedKeys.clear();
+            log.info("Loaded {} API keys from '{}'.", loaded.size(), keyFile);
+        } catch (IOException e) {
+            log.error("Exception loading API keys from '{}', keeping previously loaded keys. Exception: ", keyFile, e);
+        }
+    }
+
+    private static List<ApiKeyEntry> load(Path keyFile) throws IOException {
+        List<ApiKeyEntry> loaded = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(keyFile, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] parts = line.split(":", 3);
+            if (parts.length < 2 || parts[0].trim().isEmpty() || parts[1].trim().isEmpty()) {
+                log.warn("Skipping invalid API key entry at line {} of '{}'.", lineNumber, keyFile);
+                continue;
+            }
+
+            List<String> roles = new ArrayList<>();
+            if (parts.length == 3) {
+                for (String role : parts[2].split(",")) {
+                    if (!role.trim().isEmpty()) {
+                        roles.add(role.trim());
+                    }
+                }
+            }
+            loaded.add(new ApiKeyEntry(parts[0].trim(), parts[1].trim(), roles));
+        }
+        return Collections.unmodifiableList(loaded);
+    }
+
+    private static boolean matches(String apiKey, String hash) {
+        try {
+            if (hash.startsWith(PBKDF2_ID)) {
+                return PBKDF2HashEncoderDecoder.matches(apiKey, hash);
+            }
+            return BCryptHashEncoderDecoder.matches(apiKey, hash);
+        } catch (IllegalArgumentException e) {
+            log.warn("Invalid API key hash format. Error: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private String digest(String apiKey) {
+        return Base64.getEncoder().encodeToString(mac.get().doFinal(apiKey.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private Mac createMac() {
+        try {
+            Mac hmac = Mac.getInstance(HMAC_ALGORITHM);
+            hmac.init(digestKey);
+            return hmac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("Unable to create " + HMAC_ALGORITHM + " for API key cache.", e);
+        }
+    }
+
+    private static class Keys {
+        private final List<ApiKeyEntry> entries;
+        private final Map<String, List<ApiKeyEntry>> entriesByName = new HashMap<>();
+
+        Keys(List<ApiKeyEntry> entries) {
+            this.entries = entries;
+            for (ApiKeyEntry entry : entries) {
+                entriesByName.computeIfAbsent(entry.name, name -> new ArrayList<>()).add(entry);
+            }
+        }
+
+        List<ApiKeyEntry> getCandidates(String apiKey, boolean requireKeyId) {
+            int separator = apiKey.indexOf('.');
+            if (separator > 0) {
+                List<ApiKeyEntry> named = entriesByName.get(apiKey.substring(0, separator));
+                if (named != null) {
+                    return named;
+                }
+            }
+            return requireKeyId ? Collections.emptyList() : entries;
+        }
+    }
+
+    /*
+     * Lookups only stamp the entry with a tick, the least recently stamped entry is found by a scan when an insert
+     * overflows the cache, which only happens after a slow hash or for a rejected key.
+     */
+    private static class LruCache<V> {
+        private final ConcurrentHashMap<String, Node<V>> nodes = new ConcurrentHashMap<>();
+        private final AtomicLong clock = new AtomicLong();
+        private final int maxSize;
+
+        LruCache(int maxSize) {
+            this.maxSize = maxSize;
+        }
+
+        V get(String key) {
+            Node<V> node = nodes.get(key);
+            if (node == null) {
+                return null;
+            }
+            node.lastAccess = clock.incrementAndGet();
+            return node.value;
+        }
+
+        void put(String key, V value) {
+            nodes.put(key, new Node<>(value, clock.incrementAndGet()));
+            while (nodes.size() > maxSize && evictEldest()) {
+                // until back within the limit
+            }
+        }
+
+        void remove(String key, V value) {
+            Node<V> node = nodes.get(key);
+            if (node != null && node.value.equals(value)) {
+                nodes.remove(key, node);
+            }
+        }
+
+        void clear() {
+            nodes.clear();
+        }
+
+        private boolean evictEldest() {
+            Map.Entry<String, Node<V>> eldest = null;
+            for (Map.Entry<String, Node<V>> entry : nodes.entrySet()) {
+                if (eldest == null || entry.getValue().lastAccess < eldest.getValue().lastAccess) {
+                    eldest = entry;
+                }
+            }
+            return eldest != null && nodes.remove(eldest.getKey(), eldest.getValue());
+        }
+    }
+
+    private static class Node<V> {
+        private final V value;
+        private volatile long lastAccess;
+
+        Node(V value, long lastAccess) {
+            this.value = value;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    private static class ApiKeyEntry {
+        private final String name;
+        private final String hash;
+        private final List<String> roles;
+
+        ApiKeyEntry(String name, String hash, List<String> roles) {
+            this.name = name;
+            this.hash = hash;
+            this.roles = roles;
+        }
+    }
+
+    private static class VerifiedKey {
+        private final JWTPrincipal principal;
+        private final long expiresAt;
+
+        VerifiedKey(JWTPrincipal principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Walks every resource method once at application initialization and records its authentication decision in
+ * {@link AuthenticationDecisions}.
+ */
+public class AuthenticationDecisionFeature implements DynamicFeature {
+
+    private final AuthenticationDecisions decisions;
+
+    public AuthenticationDecisionFeature(AuthenticationDecisions decisions) {
+        this.decisions = decisions;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        if (resourceInfo.getResourceClass() != null && resourceInfo.getResourceMethod() != null) {
+            decisions.register(resourceInfo.getResourceClass(), resourceInfo.getResourceMethod());
+        }
+    }
+}
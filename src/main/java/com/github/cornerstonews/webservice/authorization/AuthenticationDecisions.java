@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.security.PermitAll;
+import javax.annotation.security.RolesAllowed;
+
+/**
+ * Holds the per resource method "permit all" decision computed once from the resource model by
+ * {@link AuthenticationDecisionFeature}, so authentication filters do not reflect on annotations per request.
+ */
+public class AuthenticationDecisions {
+
+    private final Map<Class<?>, Map<Method, Boolean>> permitAllDecisions = new ConcurrentHashMap<>();
+
+    public void register(Class<?> resourceClass, Method resourceMethod) {
+        decisionsFor(resourceClass).put(resourceMethod, isPermitAll(resourceClass, resourceMethod));
+    }
+
+    /**
+     * Returns the precomputed decision for the resource method, computing and remembering it if the method was not
+     * part of the resource model at initialization (e.g. methods of sub-resources returned by locators).
+     */
+    public boolean lookup(Class<?> resourceClass, Method resourceMethod) {
+        Map<Method, Boolean> decisions = permitAllDecisions.get(resourceClass);
+        Boolean permitAll = decisions != null ? decisions.get(resourceMethod) : null;
+        if (permitAll == null) {
+            permitAll = isPermitAll(resourceClass, resourceMethod);
+            decisionsFor(resourceClass).put(resourceMethod, permitAll);
+        }
+        return permitAll;
+    }
+
+    private Map<Method, Boolean> decisionsFor(Class<?> resourceClass) {
+        return permitAllDecisions.computeIfAbsent(resourceClass, c -> new ConcurrentHashMap<>());
+    }
+
+    /**
+     * Access allowed for all if method has permit all annotation or class has permit all annotation but then method
+     * must not have roles allowed.
+     */
+    public static boolean isPermitAll(Class<?> resourceClass, Method resourceMethod) {
+        return resourceMethod.isAnnotationPresent(PermitAll.class)
+                || (!resourceMethod.isAnnotationPresent(RolesAllowed.class) && resourceClass.isAnnotationPresent(PermitAll.class));
+    }
+}
@@ -4,8 +4,7 @@ import java.io.IOException;
 import java.lang.reflect.Method;
 
 import javax.annotation.Priority;
-import javax.annotation.security.PermitAll;
-import javax.annotation.security.RolesAllowed;
+import javax.inject.Inject;
 import javax.ws.rs.Priorities;
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
@@ -19,6 +18,7 @@ import javax.ws.rs.ext.Provider;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.jvnet.hk2.annotations.Optional;
 
 import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
 import com.github.cornerstonews.webservice.configuration.injection.Config;
@@ -40,6 +40,10 @@ public class DefaultAuthenticationFilter implements ContainerRequestFilter {
     @Context
     private ResourceInfo resourceInfo;
 
+    @Inject
+    @Optional
+    private AuthenticationDecisions authenticationDecisions;
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
 
@@ -60,17 +64,26 @@ public class DefaultAuthenticationFilter implements ContainerRequestFilter {
         Method resourceMethod = resourceInfo.getResourceMethod();
         Class<?> resourceClass = resourceInfo.getResourceClass();
 
-        // Access allowed for all if method has permit all annotation
-        // or class has permit all annotation but then method must not have roles allowed
-        if (resourceMethod.isAnnotationPresent(PermitAll.class)
-                || (!resourceMethod.isAnnotationPresent(RolesAllowed.class) && resourceClass.isAnnotationPresent(PermitAll.class))) {
-        	log.debug("'{}' resouce is annotated with permit all at method or class level, so skipping authentication.", resourceMethod);
+        if (isPermitAll(resourceClass, resourceMethod)) {
+            log.debug("'{}' resouce is annotated with permit all at method or class level, so skipping authentication.", resourceMethod);
+            return true;
+        }
+
+        if (config != null && config.isUriAuthWhitelisted(uriInfo.getPath())) {
+            log.debug("'{}' path is whitelisted, so skipping authentication.", uriInfo.getPath());
             return true;
         }
 
         return false;
     }
 
+    private boolean isPermitAll(Class<?> resourceClass, Method resourceMethod) {
+        if (authenticationDecisions != null) {
+            return authenticationDecisions.lookup(resourceClass, resourceMethod);
+        }
+        return AuthenticationDecisions.isPermitAll(resourceClass, resourceMethod);
+    }
+
     protected void abortWithUnauthorized(ContainerRequestContext requestContext) {
         abortWithUnauthorized(requestContext, null);
     }
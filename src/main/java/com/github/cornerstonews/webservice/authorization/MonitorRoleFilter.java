@@ -31,23 +31,30 @@ public class MonitorRoleFilter implements ContainerRequestFilter {
     @Config
     private BaseWebserviceConfig config;
 
+    private volatile RoleCheck roleCheck;
+
     @Override
     public void filter(ContainerRequestContext requestContext) throws IOException {
-        String monitorRole = config.getMonitorResourceRole();
-        String adminRole = config.getAdminResourceRole();
-
-        if(adminRole == null || adminRole.isEmpty() || monitorRole == null || monitorRole.isEmpty()) {
-            return;
-        }
-        
-        if(adminRole != null && !adminRole.isEmpty() && requestContext.getSecurityContext().isUserInRole(adminRole)) {
-            return;
-        }
-        
-        if(monitorRole != null && !monitorRole.isEmpty() && requestContext.getSecurityContext().isUserInRole(monitorRole)) {
+        if (getRoleCheck().isSatisfiedBy(requestContext.getSecurityContext())) {
             return;
         }
-        
+
         requestContext.abortWith(Response.status(Response.Status.FORBIDDEN).entity("User does not have required role.").build());
     }
+
+    private RoleCheck getRoleCheck() {
+        RoleCheck check = this.roleCheck;
+        if (check == null) {
+            String monitorRole = config.getMonitorResourceRole();
+            String adminRole = config.getAdminResourceRole();
+
+            if (adminRole == null || adminRole.isEmpty() || monitorRole == null || monitorRole.isEmpty()) {
+                check = RoleCheck.PERMIT_ALL;
+            } else {
+                check = RoleCheck.anyOf(adminRole, monitorRole);
+            }
+            this.roleCheck = check;
+        }
+        return check;
+    }
 }
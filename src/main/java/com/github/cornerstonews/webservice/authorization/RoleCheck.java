@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.ws.rs.core.SecurityContext;
+
+import com.github.cornerstonews.webservice.jwt.JWTAuthenticationFilter.JWTSecurityContext;
+import com.github.cornerstonews.webservice.jwt.JWTPrincipal;
+
+/**
+ * Precomputed "user has any of these roles" check. For {@link JWTSecurityContext} the check is a single bitmask test
+ * against the principal roles, other security contexts are asked role by role with
+ * {@link SecurityContext#isUserInRole(String)}.
+ */
+public final class RoleCheck {
+
+    public static final RoleCheck PERMIT_ALL = new RoleCheck(new String[0], new String[0], 0L, true);
+
+    private final String[] roles;
+    private final String[] unregisteredRoles;
+    private final long mask;
+    private final boolean permitAll;
+
+    private RoleCheck(String[] roles, String[] unregisteredRoles, long mask, boolean permitAll) {
+        this.roles = roles;
+        this.unregisteredRoles = unregisteredRoles;
+        this.mask = mask;
+        this.permitAll = permitAll;
+    }
+
+    /**
+     * Creates a check satisfied when the user has any of the given roles. Roles are registered in the
+     * {@link RoleRegistry}, null and empty roles are ignored.
+     */
+    public static RoleCheck anyOf(String... roles) {
+        List<String> validRoles = new ArrayList<>();
+        List<String> unregisteredRoles = new ArrayList<>();
+        long mask = 0L;
+        if (roles != null) {
+            for (String role : roles) {
+                if (role == null || role.isEmpty()) {
+                    continue;
+                }
+                validRoles.add(role);
+                int index = RoleRegistry.register(role);
+                if (index >= 0) {
+                    mask |= 1L << index;
+                } else {
+                    unregisteredRoles.add(role);
+                }
+            }
+        }
+        return new RoleCheck(validRoles.toArray(new String[validRoles.size()]), unregisteredRoles.toArray(new String[unregisteredRoles.size()]),
+                mask, false);
+    }
+
+    public boolean isEmpty() {
+        return !permitAll && roles.length == 0;
+    }
+
+    public boolean isSatisfiedBy(SecurityContext securityContext) {
+        if (permitAll) {
+            return true;
+        }
+
+        if (securityContext instanceof JWTSecurityContext) {
+            JWTPrincipal principal = (JWTPrincipal) securityContext.getUserPrincipal();
+            return principal.hasAnyRole(mask) || hasUnregisteredRole(principal);
+        }
+
+        for (String role : roles) {
+            if (securityContext.isUserInRole(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // Wildcard role and roles which did not fit in the registry are checked by name
+    private boolean hasUnregisteredRole(JWTPrincipal principal) {
+        for (String role : unregisteredRoles) {
+            if (principal.hasRole(role)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return "RoleCheck " + (permitAll ? "[permitAll]" : Arrays.toString(roles));
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Interns role names into bit positions so principals can hold their roles as a single {@code long} mask and role
+ * checks become a bitwise AND. Roles are registered at startup (configured admin/monitor roles and
+ * {@code @RolesAllowed} values); at most {@link #MAX_ROLES} roles are interned, roles beyond that are still checked by
+ * name.
+ */
+public final class RoleRegistry {
+
+    public static final int MAX_ROLES = Long.SIZE;
+
+    private static final String ALL_ROLES = "*";
+
+    private static final Map<String, Integer> indexes = new ConcurrentHashMap<>();
+
+    private static final AtomicReferenceArray<String> names = new AtomicReferenceArray<>(MAX_ROLES);
+
+    private static volatile int count = 0;
+
+    private RoleRegistry() {
+        throw new IllegalStateException("RoleRegistry class");
+    }
+
+    /**
+     * Registers the role and returns its bit index, or -1 if the role is empty, the wildcard role or the registry is
+     * full.
+     */
+    public static int register(String role) {
+        if (role == null || role.isEmpty() || ALL_ROLES.equals(role)) {
+            return -1;
+        }
+
+        Integer index = indexes.get(role);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (RoleRegistry.class) {
+            index = indexes.get(role);
+            if (index != null) {
+                return index;
+            }
+            if (count == MAX_ROLES) {
+                return -1;
+            }
+            index = count;
+            names.set(index, role);
+            indexes.put(role, index);
+            count = index + 1;
+            return index;
+        }
+    }
+
+    public static int indexOf(String role) {
+        if (role == null) {
+            return -1;
+        }
+        Integer index = indexes.get(role);
+        return index != null ? index : -1;
+    }
+
+    public static String nameOf(int index) {
+        return names.get(index);
+    }
+
+    /**
+     * Mask of the roles present in the given list; roles which are not registered are ignored.
+     */
+    public static long mask(String[] roles) {
+        long mask = 0L;
+        for (String role : roles) {
+            int index = indexOf(role);
+            if (index >= 0) {
+                mask |= 1L << index;
+            }
+        }
+        return mask;
+    }
+
+    /**
+     * Mask with a bit set for every role registered so far.
+     */
+    public static long registeredMask() {
+        int registered = count;
+        return registered == MAX_ROLES ? -1L : (1L << registered) - 1;
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.io.IOException;
+
+import javax.annotation.Priority;
+import javax.annotation.security.DenyAll;
+import javax.annotation.security.PermitAll;
+import javax.annotation.security.RolesAllowed;
+import javax.ws.rs.ForbiddenException;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+/**
+ * Same semantics as Jersey's {@code RolesAllowedDynamicFeature}, but roles of {@link RolesAllowed} are interned in the
+ * {@link RoleRegistry} when the resource model is configured, so the per request check is a bitmask test for JWT
+ * principals.
+ */
+public class RolesAllowedFeature implements DynamicFeature {
+
+    private static final String USER_NOT_AUTHORIZED = "User not authorized.";
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext configuration) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+
+        // DenyAll on the method take precedence over RolesAllowed and PermitAll
+        if (am.isAnnotationPresent(DenyAll.class)) {
+            configuration.register(new RolesAllowedRequestFilter());
+            return;
+        }
+
+        // RolesAllowed on the method takes precedence over PermitAll
+        RolesAllowed ra = am.getAnnotation(RolesAllowed.class);
+        if (ra != null) {
+            configuration.register(new RolesAllowedRequestFilter(ra.value()));
+            return;
+        }
+
+        // PermitAll takes precedence over RolesAllowed on the class
+        if (am.isAnnotationPresent(PermitAll.class)) {
+            return;
+        }
+
+        // RolesAllowed on the class takes precedence over PermitAll
+        ra = resourceInfo.getResourceClass().getAnnotation(RolesAllowed.class);
+        if (ra != null) {
+            configuration.register(new RolesAllowedRequestFilter(ra.value()));
+        }
+    }
+
+    @Priority(Priorities.AUTHORIZATION)
+    private static class RolesAllowedRequestFilter implements ContainerRequestFilter {
+
+        private final boolean denyAll;
+        private final boolean rolesRequired;
+        private final RoleCheck roleCheck;
+
+        RolesAllowedRequestFilter() {
+            this.denyAll = true;
+            this.rolesRequired = false;
+            this.roleCheck = RoleCheck.anyOf();
+        }
+
+        RolesAllowedRequestFilter(final String[] rolesAllowed) {
+            this.denyAll = false;
+            this.rolesRequired = rolesAllowed != null && rolesAllowed.length > 0;
+            this.roleCheck = RoleCheck.anyOf(rolesAllowed);
+        }
+
+        @Override
+        public void filter(final ContainerRequestContext requestContext) throws IOException {
+            if (!denyAll) {
+                if (rolesRequired && requestContext.getSecurityContext().getUserPrincipal() == null) {
+                    throw new ForbiddenException(USER_NOT_AUTHORIZED);
+                }
+
+                if (roleCheck.isSatisfiedBy(requestContext.getSecurityContext())) {
+                    return;
+                }
+            }
+
+            throw new ForbiddenException(USER_NOT_AUTHORIZED);
+        }
+    }
+}
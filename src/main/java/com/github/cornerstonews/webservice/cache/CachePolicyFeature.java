@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.io.IOException;
+import java.util.StringJoiner;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response.Status.Family;
+
+/**
+ * Registers a response filter for resource methods annotated with {@link CachePolicy}, the method annotation taking
+ * precedence over the class one. The header value is built once when the resource model is configured.
+ */
+public class CachePolicyFeature implements DynamicFeature {
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        CachePolicy policy = resourceInfo.getResourceMethod().getAnnotation(CachePolicy.class);
+        if (policy == null) {
+            policy = resourceInfo.getResourceClass().getAnnotation(CachePolicy.class);
+        }
+
+        if (policy != null) {
+            context.register(new CachePolicyFilter(toHeaderValue(policy), policy.noStore()));
+        }
+    }
+
+    public static String toHeaderValue(CachePolicy policy) {
+        final StringJoiner value = new StringJoiner(", ");
+        if (policy.privateCache()) {
+            value.add("private");
+        }
+        if (policy.noCache()) {
+            value.add("no-cache");
+        }
+        if (policy.noStore()) {
+            value.add("no-store");
+        }
+        if (policy.mustRevalidate()) {
+            value.add("must-revalidate");
+        }
+        if (policy.maxAge() >= 0) {
+            value.add("max-age=" + policy.maxAge());
+        }
+        if (policy.sMaxAge() >= 0) {
+            value.add("s-maxage=" + policy.sMaxAge());
+        }
+        if (policy.staleWhileRevalidate() >= 0) {
+            value.add("stale-while-revalidate=" + policy.staleWhileRevalidate());
+        }
+        return value.toString();
+    }
+
+    @Priority(Priorities.HEADER_DECORATOR)
+    private static class CachePolicyFilter implements ContainerResponseFilter {
+
+        private final String headerValue;
+        private final boolean alwaysApply;
+
+        CachePolicyFilter(String headerValue, boolean alwaysApply) {
+            this.headerValue = headerValue;
+            this.alwaysApply = alwaysApply;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+            if (headerValue.isEmpty() || responseContext.getHeaders().containsKey(HttpHeaders.CACHE_CONTROL)) {
+                return;
+            }
+
+            // Only successful and not modified responses are cacheable, a no-store policy applies to errors as well
+            if (alwaysApply || responseContext.getStatusInfo().getFamily() == Family.SUCCESSFUL || responseContext.getStatus() == 304) {
+                responseContext.getHeaders().putSingle(HttpHeaders.CACHE_CONTROL, headerValue);
+            }
+        }
+    }
+}
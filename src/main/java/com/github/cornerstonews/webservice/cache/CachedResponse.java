@@ -0,0 +1,93 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.util.List;
+import java.util.Map;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+/**
+ * Status, headers and serialized entity of a response, replayed without running the resource method or the entity
+ * providers again.
+ */
+public class CachedResponse {
+
+    private final int status;
+    private final MultivaluedMap<String, Object> headers;
+    private final byte[] body;
+    private final long expiresAt;
+
+    /**
+     * @param expiresAt {@link System#nanoTime()} after which the response is stale
+     */
+    public CachedResponse(int status, MultivaluedMap<String, Object> headers, byte[] body, long expiresAt) {
+        this.status = status;
+        this.headers = new MultivaluedHashMap<>();
+        for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+            this.headers.addAll(header.getKey(), header.getValue());
+        }
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    public int getStatus() {
+        return status;
+    }
+
+    public byte[] getBody() {
+        return body;
+    }
+
+    public int getSize() {
+        return body.length;
+    }
+
+    public boolean isExpired(long now) {
+        return now - expiresAt >= 0;
+    }
+
+    public Object getFirstHeader(String name) {
+        return headers.getFirst(name);
+    }
+
+    public EntityTag getEntityTag() {
+        final Object tag = headers.getFirst(HttpHeaders.ETAG);
+        if (tag == null || tag instanceof EntityTag) {
+            return (EntityTag) tag;
+        }
+        return EntityTag.valueOf(tag.toString());
+    }
+
+    /**
+     * Builds a new response with the cached status, headers and body. The body is shared, not copied.
+     */
+    public Response toResponse() {
+        final ResponseBuilder builder = Response.status(status).entity(body);
+        for (Map.Entry<String, List<Object>> header : headers.entrySet()) {
+            for (Object value : header.getValue()) {
+                builder.header(header.getKey(), value);
+            }
+        }
+        return builder.build();
+    }
+}
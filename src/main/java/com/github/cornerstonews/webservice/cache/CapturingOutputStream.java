@@ -0,0 +1,63 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.io.ByteArrayOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes through to the wrapped stream while keeping a copy of the bytes written, up to {@code maxSize} bytes. Once
+ * the limit is exceeded the copy is dropped and {@link #getCaptured()} returns {@code null}.
+ */
+public class CapturingOutputStream extends FilterOutputStream {
+
+    private final int maxSize;
+    private ByteArrayOutputStream copy = new ByteArrayOutputStream();
+
+    public CapturingOutputStream(OutputStream out, int maxSize) {
+        super(out);
+        this.maxSize = maxSize;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        out.write(b);
+        capture(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        out.write(b, off, len);
+        capture(b, off, len);
+    }
+
+    private void capture(byte[] b, int off, int len) {
+        if (copy != null) {
+            if (copy.size() + len > maxSize) {
+                copy = null;
+            } else {
+                copy.write(b, off, len);
+            }
+        }
+    }
+
+    public byte[] getCaptured() {
+        return copy == null ? null : copy.toByteArray();
+    }
+}
@@ -0,0 +1,50 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import com.github.cornerstonews.webservice.cache.ResponseCached.VaryBy;
+
+/**
+ * Coalesces concurrent identical requests to a GET resource method, or to all GET methods of a resource class: while
+ * one request executes the method, identical requests wait for it and are answered with a copy of its response.
+ * Requests are identical when they target the same method with the same path, query parameters, {@code Accept}
+ * header and, depending on {@link #varyBy()}, caller. Only successful responses without {@code Set-Cookie} or
+ * {@code no-store} are shared, waiting requests otherwise execute the method themselves.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Documented
+public @interface Coalesced {
+
+    /**
+     * Longest time a request waits for the in-flight response before executing the method itself.
+     */
+    int maxWaitInMillis() default 10000;
+
+    /**
+     * Responses with larger entities are not shared.
+     */
+    int maxSizeInBytes() default 1024 * 1024;
+
+    VaryBy varyBy() default VaryBy.PRINCIPAL;
+}
@@ -0,0 +1,236 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.annotation.Priority;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+
+/**
+ * Single-flight execution of resource methods annotated with {@link Coalesced}. The first request for a key executes
+ * the method and its serialized response is captured, like {@link ResponseCacheFeature} does, then replayed to the
+ * requests which arrived while it was in flight. Per endpoint meters {@code <class>.<method>.coalescing.executed},
+ * {@code .shared} and {@code .fallback} count leading requests, requests answered with a shared response and
+ * waiting requests which had to execute the method themselves.
+ */
+public class CoalescingFeature implements DynamicFeature {
+
+    private static final Logger log = LogManager.getLogger(CoalescingFeature.class);
+
+    private static final String FLIGHT_PROPERTY = CoalescingFeature.class.getName() + ".flight";
+    private static final String CAPTURE_PROPERTY = CoalescingFeature.class.getName() + ".capture";
+
+    private final MetricRegistry metricRegistry;
+
+    private final ConcurrentMap<String, Flight> flights = new ConcurrentHashMap<>();
+
+    public CoalescingFeature(MetricRegistry metricRegistry) {
+        this.metricRegistry = metricRegistry;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+        Coalesced coalesced = am.getAnnotation(Coalesced.class);
+        if (coalesced == null) {
+            coalesced = resourceInfo.getResourceClass().getAnnotation(Coalesced.class);
+        }
+        if (coalesced == null) {
+            return;
+        }
+
+        final Method method = resourceInfo.getResourceMethod();
+        if (!am.isAnnotationPresent(GET.class)) {
+            log.warn("@Coalesced ignored on {}.{}, only GET methods are coalesced.", method.getDeclaringClass().getName(), method.getName());
+            return;
+        }
+
+        final Class<?> resourceClass = resourceInfo.getResourceClass();
+        final Meters meters = new Meters(
+                metricRegistry.meter(MetricRegistry.name(resourceClass, method.getName(), "coalescing", "executed")),
+                metricRegistry.meter(MetricRegistry.name(resourceClass, method.getName(), "coalescing", "shared")),
+                metricRegistry.meter(MetricRegistry.name(resourceClass, method.getName(), "coalescing", "fallback")));
+
+        context.register(new CoalescingRequestFilter(resourceClass.getName() + '#' + method.getName(), coalesced, meters));
+        context.register(new CoalescingResponseFilter());
+        context.register(new CoalescingWriterInterceptor(coalesced.maxSizeInBytes()));
+    }
+
+    int getInFlight() {
+        return flights.size();
+    }
+
+    private void complete(Flight flight, CachedResponse response) {
+        flights.remove(flight.key, flight);
+        flight.response.complete(response);
+    }
+
+    private static final class Flight {
+        private final String key;
+        private final CompletableFuture<CachedResponse> response = new CompletableFuture<>();
+
+        Flight(String key) {
+            this.key = key;
+        }
+    }
+
+    private static final class Meters {
+        private final Meter executed;
+        private final Meter shared;
+        private final Meter fallback;
+
+        Meters(Meter executed, Meter shared, Meter fallback) {
+            this.executed = executed;
+            this.shared = shared;
+            this.fallback = fallback;
+        }
+    }
+
+    /*
+     * Runs after the response cache filter, so cache hits never start a flight
+     */
+    @Priority(Priorities.USER + 100)
+    private class CoalescingRequestFilter implements ContainerRequestFilter {
+
+        private final String endpoint;
+        private final Coalesced coalesced;
+        private final Meters meters;
+
+        CoalescingRequestFilter(String endpoint, Coalesced coalesced, Meters meters) {
+            this.endpoint = endpoint;
+            this.coalesced = coalesced;
+            this.meters = meters;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) throws IOException {
+            if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+                return;
+            }
+
+            final Flight flight = new Flight(endpoint + '|' + ResponseCacheFeature.key(requestContext, coalesced.varyBy()));
+            final Flight inFlight = flights.putIfAbsent(flight.key, flight);
+            if (inFlight == null) {
+                meters.executed.mark();
+                requestContext.setProperty(FLIGHT_PROPERTY, flight);
+                return;
+            }
+
+            final CachedResponse response = await(inFlight);
+            if (response == null) {
+                meters.fallback.mark();
+                return;
+            }
+
+            meters.shared.mark();
+            requestContext.abortWith(ResponseCacheFeature.replay(requestContext, response));
+        }
+
+        private CachedResponse await(Flight inFlight) {
+            try {
+                return inFlight.response.get(coalesced.maxWaitInMillis(), TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                // the leading request is stuck or its response was lost, let the next request start a new flight
+                flights.remove(inFlight.key, inFlight);
+                return null;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            } catch (ExecutionException e) {
+                return null;
+            }
+        }
+    }
+
+    private class CoalescingResponseFilter implements ContainerResponseFilter {
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+            final Flight flight = (Flight) requestContext.getProperty(FLIGHT_PROPERTY);
+            if (flight == null) {
+                return;
+            }
+
+            if (responseContext.getStatus() == 200 && responseContext.hasEntity() && ResponseCacheFeature.isShareable(responseContext.getHeaders())) {
+                requestContext.setProperty(CAPTURE_PROPERTY, Boolean.TRUE);
+            } else {
+                complete(flight, null);
+            }
+        }
+    }
+
+    @Priority(Priorities.HEADER_DECORATOR)
+    private class CoalescingWriterInterceptor implements WriterInterceptor {
+
+        private final int maxSizeInBytes;
+
+        CoalescingWriterInterceptor(int maxSizeInBytes) {
+            this.maxSizeInBytes = maxSizeInBytes;
+        }
+
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            final Flight flight = (Flight) context.getProperty(FLIGHT_PROPERTY);
+            if (flight == null || context.getProperty(CAPTURE_PROPERTY) == null) {
+                context.proceed();
+                return;
+            }
+
+            final OutputStream original = context.getOutputStream();
+            final CapturingOutputStream capturing = new CapturingOutputStream(original, maxSizeInBytes);
+            context.setOutputStream(capturing);
+            CachedResponse response = null;
+            try {
+                context.proceed();
+                final byte[] body = capturing.getCaptured();
+                if (body != null) {
+                    response = new CachedResponse(200, context.getHeaders(), body, System.nanoTime());
+                }
+            } finally {
+                context.setOutputStream(original);
+                complete(flight, response);
+            }
+        }
+    }
+}
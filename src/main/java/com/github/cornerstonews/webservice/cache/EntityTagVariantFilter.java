@@ -0,0 +1,173 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.StringJoiner;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response.Status;
+
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+
+import com.github.cornerstonews.webservice.encoding.ContentEncoding;
+
+/**
+ * Qualifies weak entity tags with the media type of the response, and the compression interceptor with the content
+ * coding, so each representation of a resource has its own tag, such as {@code W/"digest;json;gzip"}.
+ * <p>
+ * Before the resource evaluates its preconditions against the unqualified tag, the qualifiers are removed from the
+ * {@code If-None-Match} tags issued for the representation the request negotiates: the media subtype has to be the
+ * one selected from the {@code Accept} header and the {@code @Produces} types of the matched method, and a content
+ * coding has to be the one selected from {@code Accept-Encoding}. Tags of other representations keep their qualifiers,
+ * so they do not match and the full representation is sent. The qualifiers are put back on the tag of the not
+ * modified response. Runs before the response cache request filter, which replays on the same unqualified tags.
+ * <p>
+ * Strong tags are left unchanged.
+ */
+@Priority(Priorities.USER - 100)
+public class EntityTagVariantFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final char SEPARATOR = ';';
+    private static final String QUALIFIERS_PROPERTY = EntityTagVariantFilter.class.getName() + ".qualifiers";
+
+    @Override
+    public void filter(ContainerRequestContext requestContext) throws IOException {
+        final String ifNoneMatch = requestContext.getHeaderString(HttpHeaders.IF_NONE_MATCH);
+        if (ifNoneMatch == null || ifNoneMatch.indexOf(SEPARATOR) < 0) {
+            return;
+        }
+
+        final String subtype = negotiatedSubtype(requestContext);
+        final ContentEncoding encoding = ContentEncoding.negotiate(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        final Map<String, String> qualifiers = new HashMap<>();
+        final StringJoiner unqualified = new StringJoiner(", ");
+        for (String value : ifNoneMatch.split(",")) {
+            value = value.trim();
+            final int separator = value.indexOf(SEPARATOR);
+            if (value.startsWith("W/\"") && separator > 0 && value.endsWith("\"")) {
+                final String qualifier = value.substring(separator, value.length() - 1);
+                if (matches(qualifier, subtype, encoding)) {
+                    final String digest = value.substring(3, separator);
+                    qualifiers.putIfAbsent(digest, qualifier);
+                    value = value.substring(0, separator) + '"';
+                }
+            }
+            unqualified.add(value);
+        }
+
+        if (!qualifiers.isEmpty()) {
+            requestContext.setProperty(QUALIFIERS_PROPERTY, qualifiers);
+        }
+        requestContext.getHeaders().putSingle(HttpHeaders.IF_NONE_MATCH, unqualified.toString());
+    }
+
+    @Override
+    public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+        final EntityTag tag = getEntityTag(responseContext.getHeaders().getFirst(HttpHeaders.ETAG));
+        if (tag == null || !tag.isWeak() || tag.getValue().indexOf(SEPARATOR) >= 0) {
+            return;
+        }
+
+        final String qualifier;
+        if (responseContext.getStatus() == Status.NOT_MODIFIED.getStatusCode()) {
+            // The not modified response has no media type, it carries the tag the client sent
+            @SuppressWarnings("unchecked")
+            final Map<String, String> qualifiers = (Map<String, String>) requestContext.getProperty(QUALIFIERS_PROPERTY);
+            qualifier = qualifiers == null ? null : qualifiers.get(tag.getValue());
+        } else {
+            final MediaType mediaType = responseContext.getMediaType();
+            qualifier = mediaType == null ? null : SEPARATOR + mediaType.getSubtype();
+        }
+
+        if (qualifier != null) {
+            responseContext.getHeaders().putSingle(HttpHeaders.ETAG, new EntityTag(tag.getValue() + qualifier, true));
+        }
+    }
+
+    /*
+     * A qualifier is ";subtype", optionally followed by ";coding" when the representation was compressed
+     */
+    static boolean matches(String qualifier, String subtype, ContentEncoding encoding) {
+        final String[] parts = qualifier.substring(1).split(String.valueOf(SEPARATOR), -1);
+        if (parts.length > 2 || subtype == null || !parts[0].equalsIgnoreCase(subtype)) {
+            return false;
+        }
+        // Without a coding the representation was sent as is, which every client accepts
+        return parts.length == 1 || encoding != null && parts[1].equalsIgnoreCase(encoding.getToken());
+    }
+
+    /*
+     * The subtype Jersey selects for the response, or null when the request and the method only have wildcards
+     */
+    private static String negotiatedSubtype(ContainerRequestContext requestContext) {
+        final ResourceMethod method = ((ExtendedUriInfo) requestContext.getUriInfo()).getMatchedResourceMethod();
+        final List<MediaType> produced = method == null || method.getProducedTypes().isEmpty()
+                ? Collections.singletonList(MediaType.WILDCARD_TYPE) : method.getProducedTypes();
+        for (MediaType acceptable : requestContext.getAcceptableMediaTypes()) {
+            for (MediaType type : produced) {
+                if (type.isCompatible(acceptable)) {
+                    final MediaType selected = type.isWildcardSubtype() ? acceptable : type;
+                    return selected.isWildcardSubtype() ? null : selected.getSubtype();
+                }
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return the weak tag qualified with the given value, strong tags unchanged
+     */
+    public static EntityTag qualify(Object tag, String qualifier) {
+        final EntityTag entityTag = getEntityTag(tag);
+        if (entityTag == null || !entityTag.isWeak()) {
+            return entityTag;
+        }
+        return new EntityTag(entityTag.getValue() + SEPARATOR + qualifier, true);
+    }
+
+    /**
+     * @return the tag without its qualifiers, as compared by resources
+     */
+    public static EntityTag unqualified(EntityTag tag) {
+        final int separator = tag.getValue().indexOf(SEPARATOR);
+        if (!tag.isWeak() || separator < 0) {
+            return tag;
+        }
+        return new EntityTag(tag.getValue().substring(0, separator), true);
+    }
+
+    private static EntityTag getEntityTag(Object tag) {
+        if (tag == null || tag instanceof EntityTag) {
+            return (EntityTag) tag;
+        }
+        return EntityTag.valueOf(tag.toString());
+    }
+}
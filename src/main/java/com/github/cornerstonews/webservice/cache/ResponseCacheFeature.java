@@ -0,0 +1,220 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Priority;
+import javax.ws.rs.GET;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.FeatureContext;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.glassfish.jersey.server.model.AnnotatedMethod;
+
+import com.github.cornerstonews.webservice.cache.ResponseCached.VaryBy;
+import com.github.cornerstonews.webservice.encoding.ContentEncoding;
+import com.github.cornerstonews.webservice.jwt.JWTPrincipal;
+
+/**
+ * Serves GET resource methods annotated with {@link ResponseCached} from the {@link ResponseCacheStore}. A hit aborts
+ * the request with the cached bytes after authentication and authorization, so neither the resource method nor the
+ * entity providers run. On a miss the serialized entity is copied while it is written and stored.
+ */
+public class ResponseCacheFeature implements DynamicFeature {
+
+    private static final String KEY_PROPERTY = ResponseCacheFeature.class.getName() + ".key";
+    private static final String HIT_PROPERTY = ResponseCacheFeature.class.getName() + ".hit";
+    private static final String CAPTURE_PROPERTY = ResponseCacheFeature.class.getName() + ".capture";
+
+    private final ResponseCacheStore store;
+
+    public ResponseCacheFeature(ResponseCacheStore store) {
+        this.store = store;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        final AnnotatedMethod am = new AnnotatedMethod(resourceInfo.getResourceMethod());
+        if (!am.isAnnotationPresent(GET.class)) {
+            return;
+        }
+
+        ResponseCached cached = am.getAnnotation(ResponseCached.class);
+        if (cached == null) {
+            cached = resourceInfo.getResourceClass().getAnnotation(ResponseCached.class);
+        }
+
+        if (cached != null) {
+            final long ttl = TimeUnit.SECONDS.toNanos(cached.ttlInSeconds());
+            context.register(new ResponseCacheRequestFilter(store, cached.varyBy()));
+            context.register(new ResponseCacheResponseFilter());
+            context.register(new ResponseCacheWriterInterceptor(store, ttl));
+        }
+    }
+
+    static String key(ContainerRequestContext requestContext, VaryBy varyBy) {
+        final StringBuilder key = new StringBuilder(requestContext.getUriInfo().getPath());
+
+        final Map<String, List<String>> query = new TreeMap<>(requestContext.getUriInfo().getQueryParameters());
+        char separator = '?';
+        for (Map.Entry<String, List<String>> parameter : query.entrySet()) {
+            for (String value : parameter.getValue()) {
+                key.append(separator).append(parameter.getKey()).append('=').append(value);
+                separator = '&';
+            }
+        }
+
+        final String accept = requestContext.getHeaderString(HttpHeaders.ACCEPT);
+        key.append('|').append(accept == null ? "*/*" : accept);
+
+        // Compressed and identity representations are cached separately
+        final ContentEncoding encoding = ContentEncoding.negotiate(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        key.append('|').append(encoding == null ? "identity" : encoding.getToken());
+
+        final Principal principal = requestContext.getSecurityContext() == null ? null : requestContext.getSecurityContext().getUserPrincipal();
+        if (varyBy == VaryBy.NONE || principal == null) {
+            return key.toString();
+        }
+
+        if (varyBy == VaryBy.ROLES && principal instanceof JWTPrincipal) {
+            key.append("|roles:").append(String.join(",", ((JWTPrincipal) principal).getRoles()));
+        } else {
+            key.append("|user:").append(principal.getName());
+        }
+        return key.toString();
+    }
+
+    /**
+     * @return the cached response, or a 304 when the request preconditions match its entity tag
+     */
+    static Response replay(ContainerRequestContext requestContext, CachedResponse cached) {
+        final EntityTag tag = cached.getEntityTag();
+        if (tag != null) {
+            // If-None-Match carries unqualified tags, see EntityTagVariantFilter
+            final ResponseBuilder notModified = requestContext.getRequest().evaluatePreconditions(EntityTagVariantFilter.unqualified(tag));
+            if (notModified != null) {
+                return notModified.tag(tag).header(HttpHeaders.CACHE_CONTROL, cached.getFirstHeader(HttpHeaders.CACHE_CONTROL)).build();
+            }
+        }
+        return cached.toResponse();
+    }
+
+    /**
+     * @return whether the response may be replayed to other callers, responses setting cookies or marked
+     *         {@code no-store} are not
+     */
+    static boolean isShareable(MultivaluedMap<String, Object> headers) {
+        if (headers.containsKey(HttpHeaders.SET_COOKIE)) {
+            return false;
+        }
+        final Object cacheControl = headers.getFirst(HttpHeaders.CACHE_CONTROL);
+        return cacheControl == null || !cacheControl.toString().contains("no-store");
+    }
+
+    @Priority(Priorities.USER)
+    private static class ResponseCacheRequestFilter implements ContainerRequestFilter {
+
+        private final ResponseCacheStore store;
+        private final VaryBy varyBy;
+
+        ResponseCacheRequestFilter(ResponseCacheStore store, VaryBy varyBy) {
+            this.store = store;
+            this.varyBy = varyBy;
+        }
+
+        @Override
+        public void filter(ContainerRequestContext requestContext) throws IOException {
+            if (!HttpMethod.GET.equals(requestContext.getMethod())) {
+                return;
+            }
+
+            final String key = key(requestContext, varyBy);
+            final CachedResponse cached = store.get(key);
+            if (cached == null) {
+                requestContext.setProperty(KEY_PROPERTY, key);
+                return;
+            }
+
+            requestContext.setProperty(HIT_PROPERTY, Boolean.TRUE);
+            requestContext.abortWith(replay(requestContext, cached));
+        }
+    }
+
+    private static class ResponseCacheResponseFilter implements ContainerResponseFilter {
+
+        @Override
+        public void filter(ContainerRequestContext requestContext, ContainerResponseContext responseContext) throws IOException {
+            if (requestContext.getProperty(HIT_PROPERTY) == null && requestContext.getProperty(KEY_PROPERTY) != null && responseContext.getStatus() == 200) {
+                requestContext.setProperty(CAPTURE_PROPERTY, Boolean.TRUE);
+            }
+        }
+    }
+
+    @Priority(Priorities.HEADER_DECORATOR)
+    private static class ResponseCacheWriterInterceptor implements WriterInterceptor {
+
+        private final ResponseCacheStore store;
+        private final long ttl;
+
+        ResponseCacheWriterInterceptor(ResponseCacheStore store, long ttl) {
+            this.store = store;
+            this.ttl = ttl;
+        }
+
+        @Override
+        public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+            if (context.getProperty(CAPTURE_PROPERTY) == null || !isShareable(context.getHeaders())) {
+                context.proceed();
+                return;
+            }
+
+            final OutputStream original = context.getOutputStream();
+            final CapturingOutputStream capturing = new CapturingOutputStream(original, store.getMaxEntrySizeInBytes());
+            context.setOutputStream(capturing);
+            try {
+                context.proceed();
+            } finally {
+                context.setOutputStream(original);
+            }
+
+            final byte[] body = capturing.getCaptured();
+            if (body != null) {
+                store.put((String) context.getProperty(KEY_PROPERTY), new CachedResponse(200, context.getHeaders(), body, System.nanoTime() + ttl));
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * LRU store of {@link CachedResponse}s bounded by entry count and total body size. Entries expire after the TTL given
+ * when they are stored. Keys start with the request path (without leading {@code /}), so all representations of a
+ * resource can be dropped with {@link #invalidate(String)}.
+ */
+public class ResponseCacheStore {
+
+    private final int maxEntries;
+    private final long maxSizeInBytes;
+    private final int maxEntrySizeInBytes;
+
+    private final LinkedHashMap<String, CachedResponse> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long size;
+
+    public ResponseCacheStore(int maxEntries, long maxSizeInBytes, int maxEntrySizeInBytes) {
+        this.maxEntries = maxEntries;
+        this.maxSizeInBytes = maxSizeInBytes;
+        this.maxEntrySizeInBytes = maxEntrySizeInBytes;
+    }
+
+    public int getMaxEntrySizeInBytes() {
+        return maxEntrySizeInBytes;
+    }
+
+    public synchronized CachedResponse get(String key) {
+        final CachedResponse response = entries.get(key);
+        if (response != null && response.isExpired(System.nanoTime())) {
+            remove(key);
+            return null;
+        }
+        return response;
+    }
+
+    public synchronized void put(String key, CachedResponse response) {
+        if (response.getSize() > maxEntrySizeInBytes) {
+            return;
+        }
+
+        remove(key);
+        entries.put(key, response);
+        size += response.getSize();
+
+        final Iterator<CachedResponse> eldest = entries.values().iterator();
+        while ((entries.size() > maxEntries || size > maxSizeInBytes) && eldest.hasNext()) {
+            size -= eldest.next().getSize();
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Removes the cached responses of the path and of the paths below it.
+     *
+     * @param path request path without leading {@code /}
+     */
+    public synchronized void invalidate(String path) {
+        final Iterator<Map.Entry<String, CachedResponse>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<String, CachedResponse> entry = iterator.next();
+            if (isAtOrBelow(entry.getKey(), path)) {
+                size -= entry.getValue().getSize();
+                iterator.remove();
+            }
+        }
+    }
+
+    /*
+     * Keys start with the path, followed by the query and the vary values, so "users/1" does not match "users/10"
+     */
+    private static boolean isAtOrBelow(String key, String path) {
+        if (!key.startsWith(path)) {
+            return false;
+        }
+        if (key.length() == path.length() || path.isEmpty() || path.endsWith("/")) {
+            return true;
+        }
+        final char next = key.charAt(path.length());
+        return next == '/' || next == '?' || next == '|';
+    }
+
+    public synchronized void invalidateAll() {
+        entries.clear();
+        size = 0;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long sizeInBytes() {
+        return size;
+    }
+
+    private void remove(String key) {
+        final CachedResponse previous = entries.remove(key);
+        if (previous != null) {
+            size -= previous.getSize();
+        }
+    }
+}
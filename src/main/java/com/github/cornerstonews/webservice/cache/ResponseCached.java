@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Caches the serialized responses of a GET resource method, or of all GET methods of a resource class, in the
+ * {@link ResponseCacheStore}. Responses are keyed by path, query parameters, {@code Accept} header and, depending on
+ * {@link #varyBy()}, the caller. Only successful responses without {@code Set-Cookie} or {@code no-store} are cached.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.METHOD, ElementType.TYPE })
+@Documented
+public @interface ResponseCached {
+
+    enum VaryBy {
+        /** Responses are shared by all callers. */
+        NONE,
+        /** Responses are shared by callers with the same roles. */
+        ROLES,
+        /** Responses are cached per principal name. */
+        PRINCIPAL
+    }
+
+    int ttlInSeconds() default 60;
+
+    VaryBy varyBy() default VaryBy.PRINCIPAL;
+}
@@ -17,7 +17,9 @@
 package com.github.cornerstonews.webservice.configuration;
 
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.regex.Pattern;
 
 import javax.validation.Valid;
@@ -50,6 +52,32 @@ public class BaseWebserviceConfig {
     
     private JWTToken jwtToken;
     
+    @Valid
+    private ApiKey apiKey;
+
+    @Valid
+    private ResponseCache responseCache;
+
+    /*
+     * Key signing pagination cursors, a random key is used when not set so cursors do not survive restarts
+     */
+    private String cursorSecretKey;
+
+    @Valid
+    private Compression compression;
+
+    @Valid
+    private EntityLimits entityLimits;
+
+    @Valid
+    private AsyncExecution asyncExecution;
+
+    /*
+     * Named bounded executors for asynchronous resource methods, see ManagedExecutors
+     */
+    @Valid
+    private Map<String, ManagedExecutor> managedExecutors;
+    
     @Valid
     @NotNull
     private boolean registerServerProperties = true;
@@ -58,6 +86,28 @@ public class BaseWebserviceConfig {
     @NotNull
     private boolean enableAuthenticationAndRoles = true;
 
+    /*
+     * JSON provider, "moxy" or "jackson"
+     */
+    @Valid
+    @NotNull
+    private String jsonProvider = "moxy";
+
+    /*
+     * Registers the application/cbor entity provider for service to service calls. Off by default as it lets every
+     * resource accept CBOR bodies; their nesting is bounded by entityLimits.maxJsonDepth like JSON
+     */
+    @Valid
+    @NotNull
+    private boolean registerCBORProvider = false;
+
+    /*
+     * Logs the endpoints at startup, when disabled the resource models are introspected in the background
+     */
+    @Valid
+    @NotNull
+    private boolean logEndpoints = true;
+
     @Valid
     @NotNull
     private String rateUnit = "seconds";
@@ -70,10 +120,15 @@ public class BaseWebserviceConfig {
     
     private List<Pattern> authWhitelistedURIPatterns;
     
+    private Pattern authWhitelistedURIMatcher;
+    
     // ***********************************************************************************************
     
     public static class CORSFilter {
         
+        /*
+         * "*" or a comma separated list of allowed origins
+         */
         @NotNull
         private String origin = "*";
         
@@ -86,6 +141,12 @@ public class BaseWebserviceConfig {
         @NotNull
         private String methods = "GET, POST, PUT, DELETE, OPTIONS, HEAD";
         
+        /*
+         * How long browsers may cache preflight responses
+         */
+        @NotNull
+        private int maxAgeInSeconds = 600;
+        
         public String getOrigin() {
             return origin;
         }
@@ -117,6 +178,14 @@ public class BaseWebserviceConfig {
         public void setMethods(String methods) {
             this.methods = methods;
         }
+
+        public int getMaxAgeInSeconds() {
+            return maxAgeInSeconds;
+        }
+
+        public void setMaxAgeInSeconds(int maxAgeInSeconds) {
+            this.maxAgeInSeconds = maxAgeInSeconds;
+        }
     }
 
     public static class JWTToken {
@@ -144,6 +213,339 @@ public class BaseWebserviceConfig {
         }
     }
     
+    public static class ApiKey {
+
+        /*
+         * File with one "name:hash:role1,role2" entry per line, hash is BCrypt or PBKDF2 encoded key
+         */
+        private String keyFile = null;
+
+        @NotNull
+        private String header = "X-API-Key";
+
+        @NotNull
+        private int cacheTtlInSeconds = 300;
+
+        @NotNull
+        private int maxCacheSize = 10000;
+
+        @NotNull
+        private int reloadCheckIntervalInSeconds = 30;
+
+        /*
+         * How long a rejected key is answered from the cache without hashing
+         */
+        @NotNull
+        private int rejectedCacheTtlInSeconds = 10;
+
+        /*
+         * Only accept "name.secret" keys, so a key is checked against the hashes of its entry only. When disabled every
+         * distinct unknown key is checked against the hashes of all entries
+         */
+        @NotNull
+        private boolean requireKeyId = true;
+
+        public String getKeyFile() {
+            return keyFile;
+        }
+
+        public void setKeyFile(String keyFile) {
+            this.keyFile = keyFile;
+        }
+
+        public String getHeader() {
+            return header;
+        }
+
+        public void setHeader(String header) {
+            this.header = header;
+        }
+
+        public int getCacheTtlInSeconds() {
+            return cacheTtlInSeconds;
+        }
+
+        public void setCacheTtlInSeconds(int cacheTtlInSeconds) {
+            this.cacheTtlInSeconds = cacheTtlInSeconds;
+        }
+
+        public int getMaxCacheSize() {
+            return maxCacheSize;
+        }
+
+        public void setMaxCacheSize(int maxCacheSize) {
+            this.maxCacheSize = maxCacheSize;
+        }
+
+        public int getReloadCheckIntervalInSeconds() {
+            return reloadCheckIntervalInSeconds;
+        }
+
+        public void setReloadCheckIntervalInSeconds(int reloadCheckIntervalInSeconds) {
+            this.reloadCheckIntervalInSeconds = reloadCheckIntervalInSeconds;
+        }
+
+        public int getRejectedCacheTtlInSeconds() {
+            return rejectedCacheTtlInSeconds;
+        }
+
+        public void setRejectedCacheTtlInSeconds(int rejectedCacheTtlInSeconds) {
+            this.rejectedCacheTtlInSeconds = rejectedCacheTtlInSeconds;
+        }
+
+        public boolean isRequireKeyId() {
+            return requireKeyId;
+        }
+
+        public void setRequireKeyId(boolean requireKeyId) {
+            this.requireKeyId = requireKeyId;
+        }
+    }
+    
+    public static class ResponseCache {
+
+        @NotNull
+        private int maxEntries = 1000;
+
+        @NotNull
+        private long maxSizeInBytes = 64L * 1024 * 1024;
+
+        @NotNull
+        private int maxEntrySizeInBytes = 1024 * 1024;
+
+        public int getMaxEntries() {
+            return maxEntries;
+        }
+
+        public void setMaxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+        }
+
+        public long getMaxSizeInBytes() {
+            return maxSizeInBytes;
+        }
+
+        public void setMaxSizeInBytes(long maxSizeInBytes) {
+            this.maxSizeInBytes = maxSizeInBytes;
+        }
+
+        public int getMaxEntrySizeInBytes() {
+            return maxEntrySizeInBytes;
+        }
+
+        public void setMaxEntrySizeInBytes(int maxEntrySizeInBytes) {
+            this.maxEntrySizeInBytes = maxEntrySizeInBytes;
+        }
+    }
+    
+    public static class Compression {
+
+        /*
+         * Opt-in, compressing changes the responses of existing deployments
+         */
+        @NotNull
+        private boolean enabled = false;
+
+        /*
+         * Deflater level, 1 (fastest) to 9 (smallest)
+         */
+        @NotNull
+        private int level = 6;
+
+        @NotNull
+        private int minSizeInBytes = 1024;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public int getLevel() {
+            return level;
+        }
+
+        public void setLevel(int level) {
+            this.level = level;
+        }
+
+        public int getMinSizeInBytes() {
+            return minSizeInBytes;
+        }
+
+        public void setMinSizeInBytes(int minSizeInBytes) {
+            this.minSizeInBytes = minSizeInBytes;
+        }
+    }
+    
+    /*
+     * Request entity limits, 0 disables a limit. Resource methods can override them with @RequestLimit
+     */
+    public static class EntityLimits {
+
+        @NotNull
+        private long maxEntitySizeInBytes = 10L * 1024 * 1024;
+
+        @NotNull
+        private int maxJsonDepth = 100;
+
+        @NotNull
+        private int maxParts = 100;
+
+        @NotNull
+        private long maxPartSizeInBytes = 10L * 1024 * 1024;
+
+        /*
+         * Multipart parts larger than this are buffered in temporary files instead of memory
+         */
+        @NotNull
+        private int multipartBufferThresholdInBytes = 64 * 1024;
+
+        public long getMaxEntitySizeInBytes() {
+            return maxEntitySizeInBytes;
+        }
+
+        public void setMaxEntitySizeInBytes(long maxEntitySizeInBytes) {
+            this.maxEntitySizeInBytes = maxEntitySizeInBytes;
+        }
+
+        public int getMaxJsonDepth() {
+            return maxJsonDepth;
+        }
+
+        public void setMaxJsonDepth(int maxJsonDepth) {
+            this.maxJsonDepth = maxJsonDepth;
+        }
+
+        public int getMaxParts() {
+            return maxParts;
+        }
+
+        public void setMaxParts(int maxParts) {
+            this.maxParts = maxParts;
+        }
+
+        public long getMaxPartSizeInBytes() {
+            return maxPartSizeInBytes;
+        }
+
+        public void setMaxPartSizeInBytes(long maxPartSizeInBytes) {
+            this.maxPartSizeInBytes = maxPartSizeInBytes;
+        }
+
+        public int getMultipartBufferThresholdInBytes() {
+            return multipartBufferThresholdInBytes;
+        }
+
+        public void setMultipartBufferThresholdInBytes(int multipartBufferThresholdInBytes) {
+            this.multipartBufferThresholdInBytes = multipartBufferThresholdInBytes;
+        }
+    }
+
+    /*
+     * Dispatches blocking resource methods from the container thread to another executor through Jersey @ManagedAsync
+     */
+    public static class AsyncExecution {
+
+        /*
+         * "disabled", "annotated" for methods annotated with @ManagedAsync only, or "all" resource methods
+         */
+        @NotNull
+        private String mode = "disabled";
+
+        /*
+         * "virtual" threads, falling back to platform threads when the runtime has none (before Java 21), or "platform"
+         */
+        @NotNull
+        private String threads = "virtual";
+
+        @NotNull
+        private int platformThreads = 200;
+
+        /*
+         * Requests waiting for a platform thread, further requests are rejected with 503. 0 rejects requests when all
+         * threads are busy
+         */
+        @NotNull
+        private int platformQueueSize = 1000;
+
+        public String getMode() {
+            return mode;
+        }
+
+        public void setMode(String mode) {
+            this.mode = mode;
+        }
+
+        public String getThreads() {
+            return threads;
+        }
+
+        public void setThreads(String threads) {
+            this.threads = threads;
+        }
+
+        public int getPlatformThreads() {
+            return platformThreads;
+        }
+
+        public void setPlatformThreads(int platformThreads) {
+            this.platformThreads = platformThreads;
+        }
+
+        public int getPlatformQueueSize() {
+            return platformQueueSize;
+        }
+
+        public void setPlatformQueueSize(int platformQueueSize) {
+            this.platformQueueSize = platformQueueSize;
+        }
+    }
+    
+    public static class ManagedExecutor {
+
+        @NotNull
+        private int threads = 10;
+
+        /*
+         * Tasks waiting for a thread, further tasks are rejected with 503. 0 rejects tasks when all threads are busy
+         */
+        @NotNull
+        private int queueSize = 100;
+
+        /*
+         * Default timeout answered with 504, 0 disables it
+         */
+        @NotNull
+        private int timeoutInSeconds = 30;
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public void setThreads(int threads) {
+            this.threads = threads;
+        }
+
+        public int getQueueSize() {
+            return queueSize;
+        }
+
+        public void setQueueSize(int queueSize) {
+            this.queueSize = queueSize;
+        }
+
+        public int getTimeoutInSeconds() {
+            return timeoutInSeconds;
+        }
+
+        public void setTimeoutInSeconds(int timeoutInSeconds) {
+            this.timeoutInSeconds = timeoutInSeconds;
+        }
+    }
+    
     // ***********************************************************************************************
     // Setters and Getters
 
@@ -206,6 +608,77 @@ public class BaseWebserviceConfig {
         this.jwtToken = jwtToken;
     }
 
+    public ApiKey getApiKey() {
+        return apiKey;
+    }
+
+    public void setApiKey(ApiKey apiKey) {
+        this.apiKey = apiKey;
+    }
+
+    public ResponseCache getResponseCache() {
+        if (responseCache == null) {
+            responseCache = new ResponseCache();
+        }
+        return responseCache;
+    }
+
+    public void setResponseCache(ResponseCache responseCache) {
+        this.responseCache = responseCache;
+    }
+
+    public Compression getCompression() {
+        if (compression == null) {
+            compression = new Compression();
+        }
+        return compression;
+    }
+
+    public void setCompression(Compression compression) {
+        this.compression = compression;
+    }
+
+    public String getCursorSecretKey() {
+        return cursorSecretKey;
+    }
+
+    public void setCursorSecretKey(String cursorSecretKey) {
+        this.cursorSecretKey = cursorSecretKey;
+    }
+
+    public EntityLimits getEntityLimits() {
+        if (entityLimits == null) {
+            entityLimits = new EntityLimits();
+        }
+        return entityLimits;
+    }
+
+    public void setEntityLimits(EntityLimits entityLimits) {
+        this.entityLimits = entityLimits;
+    }
+
+    public AsyncExecution getAsyncExecution() {
+        if (asyncExecution == null) {
+            asyncExecution = new AsyncExecution();
+        }
+        return asyncExecution;
+    }
+
+    public void setAsyncExecution(AsyncExecution asyncExecution) {
+        this.asyncExecution = asyncExecution;
+    }
+
+    public Map<String, ManagedExecutor> getManagedExecutors() {
+        if (managedExecutors == null) {
+            managedExecutors = new HashMap<>();
+        }
+        return managedExecutors;
+    }
+
+    public void setManagedExecutors(Map<String, ManagedExecutor> managedExecutors) {
+        this.managedExecutors = managedExecutors;
+    }
+
     public boolean isRegisterServerProperties() {
         return registerServerProperties;
     }
@@ -222,6 +695,30 @@ public class BaseWebserviceConfig {
         this.enableAuthenticationAndRoles = enableAuthenticationAndRoles;
     }
 
+    public String getJsonProvider() {
+        return jsonProvider;
+    }
+
+    public void setJsonProvider(String jsonProvider) {
+        this.jsonProvider = jsonProvider;
+    }
+
+    public boolean isRegisterCBORProvider() {
+        return registerCBORProvider;
+    }
+
+    public void setRegisterCBORProvider(boolean registerCBORProvider) {
+        this.registerCBORProvider = registerCBORProvider;
+    }
+
+    public boolean isLogEndpoints() {
+        return logEndpoints;
+    }
+
+    public void setLogEndpoints(boolean logEndpoints) {
+        this.logEndpoints = logEndpoints;
+    }
+
     public String getRateUnit() {
         return rateUnit;
     }
@@ -245,6 +742,7 @@ public class BaseWebserviceConfig {
     public void setAuthWhitelistedURIs(List<String> authWhitelistedURIs) {
         this.authWhitelistedURIs = authWhitelistedURIs;
         this.authWhitelistedURIPatterns = convertStringUriToPattern(this.getAuthWhitelistedURIs());
+        this.authWhitelistedURIMatcher = null;
     }
     
     public List<Pattern> getAuthWhitelistedURIPatterns() {
@@ -256,6 +754,7 @@ public class BaseWebserviceConfig {
 
     public void setAuthWhitelistedURIPatterns(List<Pattern> authWhitelistedURIPatterns) {
         this.authWhitelistedURIPatterns = authWhitelistedURIPatterns;
+        this.authWhitelistedURIMatcher = null;
     }
 
     private List<Pattern> convertStringUriToPattern(List<String> authWhitelistedURIs) {
@@ -289,21 +788,41 @@ public class BaseWebserviceConfig {
     }
         
     public boolean isUriAuthWhitelisted(String path) {
-        List<Pattern> whitelistedURIPatterns = this.getAuthWhitelistedURIPatterns();
-        if(whitelistedURIPatterns == null) {
-            return false;
+        Pattern whitelistedURIMatcher = this.authWhitelistedURIMatcher;
+        if (whitelistedURIMatcher == null) {
+            List<Pattern> whitelistedURIPatterns = this.getAuthWhitelistedURIPatterns();
+            if (whitelistedURIPatterns == null || whitelistedURIPatterns.isEmpty()) {
+                return false;
+            }
+            whitelistedURIMatcher = combinePatterns(whitelistedURIPatterns);
+            this.authWhitelistedURIMatcher = whitelistedURIMatcher;
         }
-        
+
+        if (path.startsWith("/")) {
+            path = path.substring(1);
+        }
+
         // Add "/" at the end of path to match "target/*"
         if(!path.endsWith("/")) {
             path += "/";
         }
-        
-        for(Pattern pattern : whitelistedURIPatterns) {
-            if(pattern.matcher(path).matches()) {
-                return true;
+
+        return whitelistedURIMatcher.matcher(path).matches();
+    }
+
+    /*
+     * Joins all whitelisted URI patterns into a single alternation so a path is matched in one pass
+     * instead of running every pattern in turn. Each alternative accepts the trailing "/" added to the
+     * path so exact URIs (without wildcard) match as well.
+     */
+    private Pattern combinePatterns(List<Pattern> patterns) {
+        StringBuilder regex = new StringBuilder();
+        for (Pattern pattern : patterns) {
+            if (regex.length() > 0) {
+                regex.append('|');
             }
+            regex.append("(?:").append(pattern.pattern()).append(")/?");
         }
-        return false;
+        return Pattern.compile(regex.toString());
     }
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import com.github.cornerstonews.webservice.cache.EntityTagVariantFilter;
+
+/**
+ * Compresses response entities with the coding negotiated from the request {@code Accept-Encoding} header. Entities
+ * smaller than the threshold, entities of already compressed media types and responses which already have a
+ * {@code Content-Encoding} (such as replayed cached responses) are written unchanged, as are responses advertising
+ * {@code Accept-Ranges} so that byte ranges always refer to the unencoded representation. Weak entity tags of
+ * compressed responses are qualified with the content coding, see {@link EntityTagVariantFilter}.
+ * <p>
+ * Runs as entity coder, inside the response cache interceptor, so the cache stores the compressed bytes.
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionWriterInterceptor implements WriterInterceptor {
+
+    private static final String VARY_VALUE = HttpHeaders.ACCEPT_ENCODING;
+    private static final String ACCEPT_RANGES = "Accept-Ranges";
+
+    private final int level;
+    private final int minSizeInBytes;
+
+    @Context
+    private HttpHeaders requestHeaders;
+
+    public CompressionWriterInterceptor(int level, int minSizeInBytes) {
+        this.level = level;
+        this.minSizeInBytes = minSizeInBytes;
+    }
+
+    @Override
+    public void aroundWriteTo(WriterInterceptorContext context) throws IOException {
+        final MultivaluedMap<String, Object> headers = context.getHeaders();
+        if (headers.containsKey(HttpHeaders.CONTENT_ENCODING) || headers.containsKey(ACCEPT_RANGES) || !isCompressible(context.getMediaType())) {
+            context.proceed();
+            return;
+        }
+
+        addVary(headers);
+
+        final ContentEncoding encoding = ContentEncoding.negotiate(requestHeaders.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding == null) {
+            context.proceed();
+            return;
+        }
+
+        final OutputStream original = context.getOutputStream();
+        final ThresholdCompressingOutputStream compressing = new ThresholdCompressingOutputStream(original, encoding, level, minSizeInBytes, () -> {
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, encoding.getToken());
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            if (headers.containsKey(HttpHeaders.ETAG)) {
+                headers.putSingle(HttpHeaders.ETAG, EntityTagVariantFilter.qualify(headers.getFirst(HttpHeaders.ETAG), encoding.getToken()));
+            }
+        });
+        context.setOutputStream(compressing);
+        try {
+            context.proceed();
+            compressing.finish();
+        } finally {
+            compressing.release();
+            context.setOutputStream(original);
+        }
+    }
+
+    /*
+     * Appends to the Vary values already set, such as Origin by the CORS filter
+     */
+    static void addVary(MultivaluedMap<String, Object> headers) {
+        final List<Object> values = headers.get(HttpHeaders.VARY);
+        if (values != null) {
+            for (Object value : values) {
+                for (String field : value.toString().split(",")) {
+                    if (field.trim().equalsIgnoreCase(VARY_VALUE) || field.trim().equals("*")) {
+                        return;
+                    }
+                }
+            }
+        }
+        headers.add(HttpHeaders.VARY, VARY_VALUE);
+    }
+
+    static boolean isCompressible(MediaType mediaType) {
+        if (mediaType == null) {
+            return true;
+        }
+
+        final String type = mediaType.getType();
+        final String subtype = mediaType.getSubtype();
+        if ("image".equals(type)) {
+            return subtype.startsWith("svg");
+        }
+        if ("video".equals(type) || "audio".equals(type)) {
+            return false;
+        }
+        return !("application".equals(type) && (subtype.equals("zip") || subtype.equals("gzip") || subtype.equals("x-gzip")
+                || subtype.equals("octet-stream")));
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.encoding;
+
+/**
+ * Content codings supported for compressed responses.
+ */
+public enum ContentEncoding {
+
+    GZIP("gzip"),
+    DEFLATE("deflate");
+
+    private final String token;
+
+    ContentEncoding(String token) {
+        this.token = token;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    /**
+     * Selects the coding with the highest quality value in an {@code Accept-Encoding} header, gzip winning ties.
+     *
+     * @param acceptEncoding header value, may be {@code null}
+     * @return the selected coding, or {@code null} when the client accepts none of them
+     */
+    public static ContentEncoding negotiate(String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+
+        float gzip = -1;
+        float deflate = -1;
+        float any = -1;
+        for (String coding : acceptEncoding.split(",")) {
+            final int parameters = coding.indexOf(';');
+            final String name = (parameters < 0 ? coding : coding.substring(0, parameters)).trim();
+            final float quality = parameters < 0 ? 1 : quality(coding.substring(parameters + 1));
+
+            if (GZIP.token.equalsIgnoreCase(name) || "x-gzip".equalsIgnoreCase(name)) {
+                gzip = Math.max(gzip, quality);
+            } else if (DEFLATE.token.equalsIgnoreCase(name)) {
+                deflate = Math.max(deflate, quality);
+            } else if ("*".equals(name)) {
+                any = quality;
+            }
+        }
+
+        // Codings not listed get the quality of "*" when present
+        gzip = gzip < 0 ? any : gzip;
+        deflate = deflate < 0 ? any : deflate;
+
+        if (gzip > 0 && gzip >= deflate) {
+            return GZIP;
+        }
+        return deflate > 0 ? DEFLATE : null;
+    }
+
+    private static float quality(String parameters) {
+        for (String parameter : parameters.split(";")) {
+            final String trimmed = parameter.trim();
+            if (trimmed.startsWith("q=") || trimmed.startsWith("Q=")) {
+                try {
+                    return Float.parseFloat(trimmed.substring(2).trim());
+                } catch (NumberFormatException e) {
+                    return 0;
+                }
+            }
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,125 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.encoding;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Buffers the first {@code threshold} bytes written. Responses shorter than that are written as is by
+ * {@link #finish()}; once the threshold is exceeded, {@code onCompress} is run to set the response headers and the
+ * rest of the stream is compressed. {@link #finish()} does not close the wrapped stream; {@link #release()} frees the
+ * native deflater when the write fails before it is finished.
+ */
+class ThresholdCompressingOutputStream extends OutputStream {
+
+    private final OutputStream out;
+    private final ContentEncoding encoding;
+    private final int level;
+    private final Runnable onCompress;
+
+    private byte[] buffer;
+    private int count;
+    private Deflater deflater;
+    private DeflaterOutputStream compressed;
+
+    ThresholdCompressingOutputStream(OutputStream out, ContentEncoding encoding, int level, int threshold, Runnable onCompress) {
+        this.out = out;
+        this.encoding = encoding;
+        this.level = level;
+        this.onCompress = onCompress;
+        this.buffer = new byte[Math.max(threshold, 1)];
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[] { (byte) b }, 0, 1);
+    }
+
+    @Override
+    public void write(byte[] b, int off, int len) throws IOException {
+        if (compressed != null) {
+            compressed.write(b, off, len);
+            return;
+        }
+
+        if (count + len <= buffer.length) {
+            System.arraycopy(b, off, buffer, count, len);
+            count += len;
+            return;
+        }
+
+        startCompression();
+        compressed.write(b, off, len);
+    }
+
+    /**
+     * Flushes are ignored while buffering, so small responses flushed by their writer are not compressed.
+     */
+    @Override
+    public void flush() throws IOException {
+        if (compressed != null) {
+            compressed.flush();
+        }
+    }
+
+    boolean isCompressing() {
+        return compressed != null;
+    }
+
+    void finish() throws IOException {
+        if (compressed != null) {
+            try {
+                compressed.finish();
+            } finally {
+                release();
+            }
+        } else if (count > 0) {
+            out.write(buffer, 0, count);
+        }
+        buffer = null;
+    }
+
+    void release() {
+        if (deflater != null) {
+            deflater.end();
+            deflater = null;
+        }
+    }
+
+    private void startCompression() throws IOException {
+        onCompress.run();
+
+        if (encoding == ContentEncoding.GZIP) {
+            compressed = new GZIPOutputStream(out, 8192, true) {
+                {
+                    def.setLevel(level);
+                    deflater = def;
+                }
+            };
+        } else {
+            deflater = new Deflater(level);
+            compressed = new DeflaterOutputStream(out, deflater, 8192, true);
+        }
+
+        compressed.write(buffer, 0, count);
+        count = 0;
+    }
+}
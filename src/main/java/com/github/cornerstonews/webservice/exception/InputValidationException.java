@@ -18,7 +18,7 @@ package com.github.cornerstonews.webservice.exception;
 
 import javax.validation.ValidationException;
 
-public class InputValidationException extends ValidationException {
+public class InputValidationException extends ValidationException implements ExpectedException {
 
     /**
      * 
@@ -36,4 +36,9 @@ public class InputValidationException extends ValidationException {
     public InputValidationException(Throwable cause) {
         super(cause);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
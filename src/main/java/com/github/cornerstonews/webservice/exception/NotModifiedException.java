@@ -16,7 +16,7 @@
  */
 package com.github.cornerstonews.webservice.exception;
 
-public class NotModifiedException extends Exception {
+public class NotModifiedException extends Exception implements ExpectedException {
     private static final long serialVersionUID = 1L;
 
     public NotModifiedException() {
@@ -38,4 +38,9 @@ public class NotModifiedException extends Exception {
     protected NotModifiedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
         super(message, cause, enableSuppression, writableStackTrace);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -0,0 +1,35 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.exception;
+
+import javax.ws.rs.core.Response.Status;
+
+/**
+ * Request entity exceeding a configured limit, mapped to 413 Payload Too Large.
+ */
+public class PayloadTooLargeException extends ExpectedWebApplicationException {
+
+    private static final long serialVersionUID = 1L;
+
+    public PayloadTooLargeException(String message) {
+        super(message, Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    public PayloadTooLargeException(String message, Throwable cause) {
+        super(message, cause, Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+}
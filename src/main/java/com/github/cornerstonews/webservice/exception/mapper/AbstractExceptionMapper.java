@@ -16,12 +16,10 @@
  */
 package com.github.cornerstonews.webservice.exception.mapper;
 
-import java.util.List;
+import java.lang.reflect.Method;
 
 import javax.ws.rs.core.Configuration;
 import javax.ws.rs.core.Context;
-import javax.ws.rs.core.GenericEntity;
-import javax.ws.rs.core.GenericType;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
@@ -32,40 +30,79 @@ import javax.ws.rs.ext.ExceptionMapper;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import com.github.cornerstonews.webservice.exception.ExpectedException;
 import com.github.cornerstonews.webservice.model.WsError;
 
+/**
+ * Base for exception mappers producing a {@link WsError} entity. Mappers are stateless, the exception being mapped is
+ * passed to {@link #getResponseBuilder(Throwable)} and {@link #getWsError(Throwable)}, so a single instance is shared
+ * by all concurrent requests.
+ * <p>
+ * Subclasses still overriding the deprecated no argument methods keep working once {@link #getResponseBuilder(Throwable)}
+ * is implemented by calling {@link #getResponseBuilder()}: the exception is then also stored in the deprecated
+ * {@link #exception} field, which is not safe when the mapper instance is shared.
+ */
 public abstract class AbstractExceptionMapper<T extends Throwable> implements ExceptionMapper<T> {
 
     private static final Logger log = LogManager.getLogger(AbstractExceptionMapper.class);
 
-    @Context
-    private Configuration config;
+    private final ErrorVariants variants = new ErrorVariants(
+            MediaType.TEXT_PLAIN_TYPE, 
+            MediaType.APPLICATION_XML_TYPE, 
+            MediaType.APPLICATION_JSON_TYPE);
 
     @Context
     private Request request;
 
+    @Context
+    private Configuration configuration;
+
+    /**
+     * @deprecated only set for subclasses overriding {@link #getResponseBuilder()} or {@link #getWsError()}, use the
+     *             exception passed to {@link #getResponseBuilder(Throwable)} and {@link #getWsError(Throwable)}
+     */
+    @Deprecated
     protected T exception;
 
-    private final List<Variant> variants = Variant.mediaTypes(
-            MediaType.TEXT_PLAIN_TYPE, 
-            MediaType.APPLICATION_XML_TYPE, 
-            MediaType.APPLICATION_JSON_TYPE).build();
+    private final boolean legacySubclass = declaresLegacyMethods(getClass());
+
+    protected abstract ResponseBuilder getResponseBuilder(T exception);
 
-    protected abstract ResponseBuilder getResponseBuilder();
+    protected WsError getWsError(T exception) {
+        return legacySubclass ? getWsError() : new WsError(exception.getMessage());
+    }
+
+    /**
+     * @deprecated implement {@link #getResponseBuilder(Throwable)} instead. Subclasses still overriding this method
+     *             implement {@link #getResponseBuilder(Throwable)} by calling it.
+     */
+    @Deprecated
+    protected ResponseBuilder getResponseBuilder() {
+        return getResponseBuilder(exception);
+    }
 
+    /**
+     * @deprecated override {@link #getWsError(Throwable)} instead
+     */
+    @Deprecated
     protected WsError getWsError() {
-        return new WsError(this.exception.getMessage());
+        return new WsError(exception.getMessage());
     }
 
     @Override
     public Response toResponse(T exception) {
-        this.exception = exception;
-        log.debug("Exception caught by WsExceptionMapper. Error: {}", this.exception.getMessage());
-        log.trace("Exception: ", this.exception);
+        log.debug("Exception caught by WsExceptionMapper. Error: {}", exception.getMessage());
+        if (!(exception instanceof ExpectedException)) {
+            log.trace("Exception: ", exception);
+        }
 
-        ResponseBuilder responseBuilder = getResponseBuilder();
+        if (legacySubclass) {
+            this.exception = exception;
+        }
 
-        final Variant variant = request.selectVariant(variants);
+        ResponseBuilder responseBuilder = getResponseBuilder(exception);
+
+        final Variant variant = request.selectVariant(variants.get(configuration));
         if (variant != null) {
             responseBuilder.type(variant.getMediaType());
         } else {
@@ -75,8 +112,17 @@ public abstract class AbstractExceptionMapper<T extends Throwable> implements Ex
             responseBuilder.type(MediaType.APPLICATION_JSON_TYPE);
         }
 
-        WsError error = getWsError();
-        responseBuilder.entity(new GenericEntity<>(error, new GenericType<WsError>() {}.getType()));
-        return responseBuilder.build();
+        return responseBuilder.entity(getWsError(exception)).build();
+    }
+
+    private static boolean declaresLegacyMethods(Class<?> klass) {
+        for (Class<?> c = klass; c != null && c != AbstractExceptionMapper.class; c = c.getSuperclass()) {
+            for (Method method : c.getDeclaredMethods()) {
+                if (method.getParameterCount() == 0 && (method.getName().equals("getResponseBuilder") || method.getName().equals("getWsError"))) {
+                    return true;
+                }
+            }
+        }
+        return false;
     }
 }
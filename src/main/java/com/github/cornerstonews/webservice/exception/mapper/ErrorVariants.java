@@ -0,0 +1,55 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.exception.mapper;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Variant;
+
+import com.github.cornerstonews.webservice.provider.CborProvider;
+
+/**
+ * Media types an exception mapper negotiates for its error entity, with CBOR appended when the {@link CborProvider}
+ * is registered. Whether it is registered is checked once, on the first error.
+ */
+final class ErrorVariants {
+
+    private final List<Variant> variants;
+    private final List<Variant> cborVariants;
+    private volatile List<Variant> selected;
+
+    ErrorVariants(MediaType... mediaTypes) {
+        this.variants = Collections.unmodifiableList(Variant.mediaTypes(mediaTypes).build());
+
+        List<Variant> withCbor = new ArrayList<>(variants);
+        withCbor.addAll(Variant.mediaTypes(CborProvider.APPLICATION_CBOR_TYPE).build());
+        this.cborVariants = Collections.unmodifiableList(withCbor);
+    }
+
+    List<Variant> get(Configuration configuration) {
+        List<Variant> result = selected;
+        if (result == null) {
+            result = configuration != null && configuration.isRegistered(CborProvider.class) ? cborVariants : variants;
+            selected = result;
+        }
+        return result;
+    }
+}
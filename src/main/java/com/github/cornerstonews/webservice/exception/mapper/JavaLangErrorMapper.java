@@ -18,6 +18,7 @@ package com.github.cornerstonews.webservice.exception.mapper;
 
 import java.util.UUID;
 
+import javax.inject.Singleton;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.ext.Provider;
@@ -28,19 +29,20 @@ import org.apache.logging.log4j.Logger;
 import com.github.cornerstonews.webservice.model.WsError;
 
 @Provider
+@Singleton
 public class JavaLangErrorMapper extends AbstractExceptionMapper<Error> {
 
     private static final Logger log = LogManager.getLogger(JavaLangErrorMapper.class);
 
     @Override
-    protected ResponseBuilder getResponseBuilder() {
+    protected ResponseBuilder getResponseBuilder(Error exception) {
         return Response.serverError();
     }
 
     @Override
-    protected WsError getWsError() {
+    protected WsError getWsError(Error exception) {
         WsError error = new WsError("Error processing your request. Please try again or contact your administrator.", UUID.randomUUID().toString());
-        log.warn("Exception caught by JavaLangErrorMapper. ReferenceNumber: " + error.getReferenceId(), this.exception);
+        log.warn("Exception caught by JavaLangErrorMapper. ReferenceNumber: " + error.getReferenceId(), exception);
         return error;
     }
 
@@ -16,6 +16,7 @@
  */
 package com.github.cornerstonews.webservice.exception.mapper;
 
+import javax.inject.Singleton;
 import javax.ws.rs.NotAcceptableException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
@@ -25,15 +26,16 @@ import javax.ws.rs.ext.Provider;
 import com.github.cornerstonews.webservice.model.WsError;
 
 @Provider
+@Singleton
 public class NotAcceptableExceptionMapper extends AbstractExceptionMapper<NotAcceptableException> {
 
     @Override
-    protected ResponseBuilder getResponseBuilder() {
+    protected ResponseBuilder getResponseBuilder(NotAcceptableException exception) {
         return Response.status(Status.NOT_ACCEPTABLE);
     }
 
     @Override
-    protected WsError getWsError() {
+    protected WsError getWsError(NotAcceptableException exception) {
         String errorString = "Requested resource could not produce acceptable reprentation of the requested user agent. Please check your accept headers.";
         return new WsError(errorString);
     }
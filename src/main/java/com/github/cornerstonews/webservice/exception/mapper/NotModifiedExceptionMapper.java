@@ -16,6 +16,7 @@
  */
 package com.github.cornerstonews.webservice.exception.mapper;
 
+import javax.inject.Singleton;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
@@ -24,11 +25,21 @@ import javax.ws.rs.ext.Provider;
 import com.github.cornerstonews.webservice.exception.NotModifiedException;
 
 @Provider
+@Singleton
 public class NotModifiedExceptionMapper extends AbstractExceptionMapper<NotModifiedException> {
 
     @Override
-    protected ResponseBuilder getResponseBuilder() {
+    protected ResponseBuilder getResponseBuilder(NotModifiedException exception) {
         return Response.status(Status.NOT_MODIFIED);
     }
 
+    /**
+     * A 304 response must not carry a body, so no {@link com.github.cornerstonews.webservice.model.WsError} entity is
+     * added.
+     */
+    @Override
+    public Response toResponse(NotModifiedException exception) {
+        return getResponseBuilder(exception).build();
+    }
+
 }
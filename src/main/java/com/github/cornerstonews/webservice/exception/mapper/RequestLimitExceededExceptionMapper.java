@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.exception.mapper;
+
+import javax.inject.Singleton;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+import javax.ws.rs.ext.Provider;
+
+import com.github.cornerstonews.webservice.limit.RequestLimitExceededException;
+import com.github.cornerstonews.webservice.model.WsError;
+
+/**
+ * Maps a request entity limit tripped outside of the entity providers, such as by a resource method reading its
+ * {@code InputStream} parameter, to 413 like {@link com.github.cornerstonews.webservice.limit.RequestLimitInterceptor}
+ * does for providers.
+ */
+@Provider
+@Singleton
+public class RequestLimitExceededExceptionMapper extends AbstractExceptionMapper<RequestLimitExceededException> {
+
+    @Override
+    protected ResponseBuilder getResponseBuilder(RequestLimitExceededException exception) {
+        return Response.status(Status.REQUEST_ENTITY_TOO_LARGE);
+    }
+
+    @Override
+    protected WsError getWsError(RequestLimitExceededException exception) {
+        return new WsError(exception.getMessage());
+    }
+
+}
@@ -19,6 +19,7 @@ package com.github.cornerstonews.webservice.exception.mapper;
 import java.util.ArrayList;
 import java.util.List;
 
+import javax.inject.Singleton;
 import javax.validation.ConstraintViolationException;
 import javax.validation.ValidationException;
 import javax.ws.rs.core.Configuration;
@@ -43,16 +44,25 @@ import com.github.cornerstonews.webservice.exception.InputValidationException;
 import com.github.cornerstonews.webservice.model.WsError;
 
 @Provider
+@Singleton
 public class ValidationExceptionMapper implements ExceptionMapper<ValidationException>  {
 
     private static final Logger log = LogManager.getLogger(ValidationExceptionMapper.class);
 
-    @Context
-    private Configuration config;
-    
+    private final ErrorVariants variants = new ErrorVariants(
+            MediaType.TEXT_PLAIN_TYPE,
+            MediaType.TEXT_HTML_TYPE,
+            MediaType.APPLICATION_XML_TYPE,
+            MediaType.APPLICATION_JSON_TYPE);
+
+    private static final GenericType<List<ValidationErrorData>> VALIDATION_ERRORS_TYPE = new GenericType<List<ValidationErrorData>>() {};
+
     @Context
     private Request request;
 
+    @Context
+    private Configuration configuration;
+
     @Override
     public Response toResponse(final ValidationException exception) {
         if (exception instanceof ConstraintViolationException) {
@@ -62,17 +72,18 @@ public class ValidationExceptionMapper implements ExceptionMapper<ValidationExce
             final Response.ResponseBuilder response = Response.status(ValidationHelper.getResponseStatus(cve));
             response.type(getMediaType());            
             
-            List<ValidationErrorData> errors = new ArrayList<>(ValidationHelper.constraintViolationToValidationErrors(cve).size());
-            for(ValidationErrorData error : ValidationHelper.constraintViolationToValidationErrors(cve)) {
+            List<ValidationErrorData> violations = ValidationHelper.constraintViolationToValidationErrors(cve);
+            List<ValidationErrorData> errors = new ArrayList<>(violations.size());
+            for(ValidationErrorData error : violations) {
                 error.setMessageTemplate(null);
                 error.setPath(error.getPath().substring(error.getPath().lastIndexOf('.') + 1, error.getPath().length()));
                 errors.add(error);
             }
             
-            response.entity(new GenericEntity<>(errors,new GenericType<List<ValidationErrorData>>() {}.getType()));
+            response.entity(new GenericEntity<>(errors, VALIDATION_ERRORS_TYPE.getType()));
             return response.build();
         } else if (exception instanceof InputValidationException) {
-            log.debug(LocalizationMessages.VALIDATION_EXCEPTION_RAISED(), exception);
+            log.debug("{} {}", LocalizationMessages.VALIDATION_EXCEPTION_RAISED(), exception.getMessage());
             final Response.ResponseBuilder response = Response.status(Status.BAD_REQUEST);
             response.type(getMediaType());
             WsError error = new WsError(exception.getMessage());
@@ -90,13 +101,7 @@ public class ValidationExceptionMapper implements ExceptionMapper<ValidationExce
     }
 
     private MediaType getMediaType() {
-     // Entity.
-        final List<Variant> variants = Variant.mediaTypes(
-                MediaType.TEXT_PLAIN_TYPE,
-                MediaType.TEXT_HTML_TYPE,
-                MediaType.APPLICATION_XML_TYPE,
-                MediaType.APPLICATION_JSON_TYPE).build();
-        final Variant variant = request.selectVariant(variants);
+        final Variant variant = request.selectVariant(variants.get(configuration));
         if (variant != null) {
             return variant.getMediaType();
         } else {
@@ -16,6 +16,7 @@
  */
 package com.github.cornerstonews.webservice.exception.mapper;
 
+import javax.inject.Singleton;
 import javax.ws.rs.WebApplicationException;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
@@ -25,15 +26,16 @@ import javax.xml.bind.JAXBException;
 import com.github.cornerstonews.webservice.model.WsError;
 
 @Provider
+@Singleton
 public class WebApplicationExceptionMapper extends AbstractExceptionMapper<WebApplicationException> {
 
     @Override
-    protected ResponseBuilder getResponseBuilder() {
+    protected ResponseBuilder getResponseBuilder(WebApplicationException exception) {
         return Response.status(exception.getResponse().getStatus());
     }
 
     @Override
-    protected WsError getWsError() {
+    protected WsError getWsError(WebApplicationException exception) {
 
         WsError error = new WsError(exception.getMessage());
         Throwable cause = exception.getCause();
@@ -43,7 +45,7 @@ public class WebApplicationExceptionMapper extends AbstractExceptionMapper<WebAp
                 error.setErrorMessage(cause.getMessage());
             } else if ((cause2 = cause.getCause()) != null && cause2.getMessage() != null) {
                 error.setErrorMessage(cause2.getMessage());
-            } else if ((((JAXBException) cause).getLinkedException()) != null 
+            } else if (cause instanceof JAXBException && (((JAXBException) cause).getLinkedException()) != null 
                     && (((JAXBException) cause).getLinkedException().getMessage()) != null) {
                 error.setErrorMessage(((JAXBException) cause).getLinkedException().getMessage());
             }
@@ -20,30 +20,35 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Type;
-import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
 
-import javax.ws.rs.ProcessingException;
 import javax.ws.rs.Produces;
 import javax.ws.rs.core.MediaType;
 import javax.ws.rs.core.MultivaluedMap;
 import javax.ws.rs.ext.MessageBodyWriter;
 import javax.ws.rs.ext.Provider;
-import javax.xml.bind.JAXBContext;
-import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-
-import org.eclipse.persistence.jaxb.JAXBContextFactory;
-import org.eclipse.persistence.jaxb.MarshallerProperties;
 
 import com.github.cornerstonews.webservice.model.WsError;
+import com.github.cornerstonews.webservice.provider.CborProvider;
 
+/**
+ * Writes {@link WsError} without going through JAXB. The error has two fields, so JSON and XML are written by hand in
+ * the same format MOXy produces (formatted JSON without root element, XML with declaration) instead of creating a
+ * JAXB context and marshaller for every error response.
+ */
 @Provider
 @Produces({ MediaType.APPLICATION_JSON, MediaType.APPLICATION_XML, MediaType.TEXT_PLAIN, "*/*" })
 public class WsErrorMessageBodyWriter implements MessageBodyWriter<WsError> {
 
+    private static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>";
+    private static final String XML_ROOT = "wsError";
+    private static final String ERROR_FIELD = "error";
+    private static final String REFERENCE_ID_FIELD = "referenceId";
+
     @Override
     public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
-        return type == WsError.class;
+        // Binary formats are left to their own providers
+        return type == WsError.class && !CborProvider.APPLICATION_CBOR_TYPE.isCompatible(mediaType);
     }
 
     @Override
@@ -55,25 +60,108 @@ public class WsErrorMessageBodyWriter implements MessageBodyWriter<WsError> {
     @Override
     public void writeTo(WsError error, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
             MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
-        try {
-            JAXBContext jaxbContext = JAXBContextFactory.createContext(new Class[] { type }, null);
-            Marshaller marshaller = jaxbContext.createMarshaller();
 
-            if (MediaType.APPLICATION_JSON_TYPE.equals(mediaType) || mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)
-                    || (!MediaType.APPLICATION_XML_TYPE.equals(mediaType) && !MediaType.TEXT_PLAIN_TYPE.equals(mediaType))) {
-                marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-                marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
-                marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, Boolean.FALSE);
-            }
+        final String entity;
+        if (MediaType.TEXT_PLAIN_TYPE.equals(mediaType)) {
+            entity = error.toString();
+        } else if (MediaType.APPLICATION_JSON_TYPE.equals(mediaType) || mediaType.isCompatible(MediaType.APPLICATION_JSON_TYPE)
+                || !MediaType.APPLICATION_XML_TYPE.equals(mediaType)) {
+            entity = toJson(error);
+        } else {
+            entity = toXml(error);
+        }
+
+        entityStream.write(entity.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static String toJson(WsError error) {
+        StringBuilder json = new StringBuilder(64);
+        json.append('{');
+        boolean first = appendJsonField(json, ERROR_FIELD, error.getErrorMessage(), true);
+        appendJsonField(json, REFERENCE_ID_FIELD, error.getReferenceId(), first);
+        return json.append("\n}").toString();
+    }
 
-            if (MediaType.TEXT_PLAIN_TYPE.equals(mediaType)) {
-                entityStream.write(error.toString().getBytes(Charset.forName("UTF-8")));
-            } else {
-                marshaller.marshal(error, entityStream);
+    private static boolean appendJsonField(StringBuilder json, String name, String value, boolean first) {
+        if (value == null) {
+            return first;
+        }
+        if (!first) {
+            json.append(',');
+        }
+        json.append("\n   \"").append(name).append("\" : \"");
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '"':
+                json.append("\\\"");
+                break;
+            case '\\':
+                json.append("\\\\");
+                break;
+            case '\b':
+                json.append("\\b");
+                break;
+            case '\f':
+                json.append("\\f");
+                break;
+            case '\n':
+                json.append("\\n");
+                break;
+            case '\r':
+                json.append("\\r");
+                break;
+            case '\t':
+                json.append("\\t");
+                break;
+            default:
+                if (c < 0x20) {
+                    json.append(String.format("\\u%04X", (int) c));
+                } else {
+                    json.append(c);
+                }
             }
-        } catch (JAXBException jaxbException) {
-            throw new ProcessingException("Error serializing a WsError to the output stream", jaxbException);
         }
+        json.append('"');
+        return false;
+    }
+
+    static String toXml(WsError error) {
+        StringBuilder xml = new StringBuilder(128);
+        xml.append(XML_DECLARATION).append('<').append(XML_ROOT);
+        if (error.getErrorMessage() == null && error.getReferenceId() == null) {
+            return xml.append("/>").toString();
+        }
+        xml.append('>');
+        appendXmlElement(xml, ERROR_FIELD, error.getErrorMessage());
+        appendXmlElement(xml, REFERENCE_ID_FIELD, error.getReferenceId());
+        return xml.append("</").append(XML_ROOT).append('>').toString();
     }
 
+    private static void appendXmlElement(StringBuilder xml, String name, String value) {
+        if (value == null) {
+            return;
+        }
+        xml.append('<').append(name).append('>');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+            case '&':
+                xml.append("&amp;");
+                break;
+            case '<':
+                xml.append("&lt;");
+                break;
+            case '"':
+                xml.append("&quot;");
+                break;
+            case '\r':
+                xml.append("&#xd;");
+                break;
+            default:
+                xml.append(c);
+            }
+        }
+        xml.append("</").append(name).append('>');
+    }
 }
@@ -18,6 +18,7 @@ package com.github.cornerstonews.webservice.exception.mapper;
 
 import java.util.UUID;
 
+import javax.inject.Singleton;
 import javax.ws.rs.core.Response;
 import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.ext.Provider;
@@ -31,20 +32,21 @@ import com.github.cornerstonews.webservice.model.WsError;
  * To catch all non mapped and unexpected exceptions.
  */
 @Provider
+@Singleton
 public class WsThrowableMapper extends AbstractExceptionMapper<Throwable> {
 
     private static final Logger log = LogManager.getLogger(WsThrowableMapper.class);
 
     @Override
-    protected ResponseBuilder getResponseBuilder() {
+    protected ResponseBuilder getResponseBuilder(Throwable exception) {
         return Response.serverError();
     }
 
     @Override
-    protected WsError getWsError() {
+    protected WsError getWsError(Throwable exception) {
         WsError error = new WsError("Error processing your request. Please try again or contact your administrator.", UUID.randomUUID().toString());
 
-        log.warn("Exception caught by WsThrowableMapper. ReferenceNumber: " + error.getReferenceId(), this.exception);
+        log.warn("Exception caught by WsThrowableMapper. ReferenceNumber: " + error.getReferenceId(), exception);
         return error;
     }
 }
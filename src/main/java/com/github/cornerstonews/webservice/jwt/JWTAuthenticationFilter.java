@@ -36,6 +36,7 @@ import org.apache.logging.log4j.Logger;
 import com.github.cornerstonews.webservice.authorization.DefaultAuthenticationFilter;
 import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
 import com.github.cornerstonews.webservice.configuration.injection.Config;
+import com.github.cornerstonews.webservice.exception.ExpectedException;
 import com.github.cornerstonews.webservice.model.WsError;
 
 import io.jsonwebtoken.ExpiredJwtException;
@@ -81,7 +82,9 @@ public class JWTAuthenticationFilter extends DefaultAuthenticationFilter {
             requestContext.setSecurityContext(newSecurityContext);
         } catch (Exception e) {
             log.info("Exception caught in AuthenticationFilter. JWT Token validation error: {}", e.getMessage());
-            log.debug("Exception stacktrace: ", e);
+            if (!(e instanceof ExpectedException)) {
+                log.debug("Exception stacktrace: ", e);
+            }
             WsError error = new WsError("Provided JWT token is invalid.");
             if (e instanceof ExpiredJwtException) {
                 error.setErrorMessage("Provided JWT token is expired.");
@@ -99,10 +102,16 @@ public class JWTAuthenticationFilter extends DefaultAuthenticationFilter {
 
         private JWTPrincipal principal;
         private boolean isSecure;
+        private String authenticationScheme;
 
         public JWTSecurityContext(JWTPrincipal principal, boolean isSecure) {
+            this(principal, isSecure, AUTHENTICATION_SCHEME);
+        }
+
+        public JWTSecurityContext(JWTPrincipal principal, boolean isSecure, String authenticationScheme) {
             this.principal = principal;
             this.isSecure = isSecure;
+            this.authenticationScheme = authenticationScheme;
         }
 
         @Override
@@ -122,7 +131,7 @@ public class JWTAuthenticationFilter extends DefaultAuthenticationFilter {
 
         @Override
         public String getAuthenticationScheme() {
-            return AUTHENTICATION_SCHEME;
+            return this.authenticationScheme;
         }
     }
 
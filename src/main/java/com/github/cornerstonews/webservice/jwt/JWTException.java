@@ -16,7 +16,9 @@
  */
 package com.github.cornerstonews.webservice.jwt;
 
-public class JWTException extends Exception {
+import com.github.cornerstonews.webservice.exception.ExpectedException;
+
+public class JWTException extends Exception implements ExpectedException {
 
     /**
      * 
@@ -30,4 +32,9 @@ public class JWTException extends Exception {
     public JWTException(String error, Throwable e) {
         super(error, e);
     }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
 }
@@ -20,11 +20,20 @@ import java.security.Principal;
 import java.util.Arrays;
 import java.util.List;
 
+import com.github.cornerstonews.webservice.authorization.RoleRegistry;
+
 public class JWTPrincipal implements Principal {
 
     protected final String name;
     protected final String[] roles;
 
+    /*
+     * Bits of the roles interned in the RoleRegistry which this principal has, and the bits of the roles
+     * that were registered when the roles were resolved (roles registered later are checked by name).
+     */
+    protected final long roleMask;
+    private final long resolvedMask;
+
     /**
      * Construct a new JWTPrincipal, for the specified username, with the specified role names (as Strings).
      *
@@ -41,6 +50,8 @@ public class JWTPrincipal implements Principal {
                 Arrays.sort(this.roles);
             }
         }
+        this.resolvedMask = RoleRegistry.registeredMask();
+        this.roleMask = RoleRegistry.mask(this.roles);
     }
 
     @Override
@@ -63,7 +74,34 @@ public class JWTPrincipal implements Principal {
         if (role == null) {
             return false;
         }
+
+        int index = RoleRegistry.indexOf(role);
+        if (index >= 0 && (resolvedMask & (1L << index)) != 0) {
+            return (roleMask & (1L << index)) != 0;
+        }
         return Arrays.binarySearch(roles, role) >= 0;
     }
 
+    /**
+     * Checks if the principal has any of the roles in the mask built from {@link RoleRegistry} indexes.
+     *
+     * @param mask Bits of the roles to check
+     * @return true if the principal has at least one of the roles
+     */
+    public boolean hasAnyRole(long mask) {
+        if ((roleMask & mask) != 0) {
+            return true;
+        }
+
+        long unresolved = mask & ~resolvedMask;
+        while (unresolved != 0) {
+            int index = Long.numberOfTrailingZeros(unresolved);
+            if (Arrays.binarySearch(roles, RoleRegistry.nameOf(index)) >= 0) {
+                return true;
+            }
+            unresolved &= unresolved - 1;
+        }
+        return false;
+    }
+
 }
\ No newline at end of file
@@ -0,0 +1,164 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+/**
+ * Tracks the nesting depth of CBOR arrays and maps by following the item heads (RFC 8949) and skipping string payloads.
+ * Malformed input is left to the entity provider to reject.
+ */
+class CborDepthScanner implements EntityScanner {
+
+    private static final int HEAD = 0;
+    private static final int ARGUMENT = 1;
+    private static final int PAYLOAD = 2;
+
+    private final int maxDepth;
+    // Items left in each open array or map, -1 for indefinite length containers
+    private final long[] remaining;
+    private int depth;
+    private int state = HEAD;
+    private int majorType;
+    private int argumentBytes;
+    private long argument;
+    private long payload;
+    private boolean chunkedString;
+
+    CborDepthScanner(int maxDepth) {
+        this.maxDepth = maxDepth;
+        this.remaining = new long[maxDepth];
+    }
+
+    @Override
+    public void scan(byte[] b, int off, int len) throws RequestLimitExceededException {
+        final int end = off + len;
+        int i = off;
+        while (i < end) {
+            if (state == HEAD) {
+                head(b[i++] & 0xff);
+            } else if (state == ARGUMENT) {
+                argument = (argument << 8) | (b[i++] & 0xff);
+                if (--argumentBytes == 0) {
+                    argument();
+                }
+            } else {
+                final int skipped = (int) Math.min(payload, end - i);
+                i += skipped;
+                payload -= skipped;
+                if (payload == 0) {
+                    state = HEAD;
+                    endString();
+                }
+            }
+        }
+    }
+
+    private void head(int initial) throws RequestLimitExceededException {
+        majorType = initial >>> 5;
+        final int info = initial & 0x1f;
+        if (info < 24) {
+            argument = info;
+            argument();
+        } else if (info <= 27) {
+            argument = 0;
+            argumentBytes = 1 << (info - 24);
+            state = ARGUMENT;
+        } else if (info == 31) {
+            indefinite();
+        }
+    }
+
+    private void argument() throws RequestLimitExceededException {
+        state = HEAD;
+        switch (majorType) {
+        case 2:
+        case 3:
+            if (argument == 0) {
+                endString();
+            } else {
+                payload = argument < 0 ? Long.MAX_VALUE : argument;
+                state = PAYLOAD;
+            }
+            break;
+        case 4:
+            open(argument < 0 ? Long.MAX_VALUE : argument);
+            break;
+        case 5:
+            open(argument < 0 || argument > Long.MAX_VALUE / 2 ? Long.MAX_VALUE : argument * 2);
+            break;
+        case 6:
+            // A tag applies to the item that follows
+            break;
+        default:
+            endItem();
+        }
+    }
+
+    private void indefinite() throws RequestLimitExceededException {
+        switch (majorType) {
+        case 2:
+        case 3:
+            chunkedString = true;
+            break;
+        case 4:
+        case 5:
+            open(-1);
+            break;
+        case 7:
+            if (chunkedString) {
+                chunkedString = false;
+                endItem();
+            } else if (depth > 0 && remaining[depth - 1] < 0) {
+                depth--;
+                endItem();
+            }
+            break;
+        default:
+        }
+    }
+
+    private void open(long items) throws RequestLimitExceededException {
+        if (depth >= maxDepth) {
+            throw new RequestLimitExceededException("CBOR nesting depth exceeds " + maxDepth + ".");
+        }
+        if (items == 0) {
+            endItem();
+        } else {
+            remaining[depth++] = items;
+        }
+    }
+
+    private void endString() {
+        // Chunks of an indefinite length string are not items of the enclosing container
+        if (!chunkedString) {
+            endItem();
+        }
+    }
+
+    private void endItem() {
+        while (depth > 0) {
+            final long left = remaining[depth - 1];
+            if (left < 0) {
+                return;
+            }
+            if (left > 1) {
+                remaining[depth - 1] = left - 1;
+                return;
+            }
+            depth--;
+        }
+    }
+}
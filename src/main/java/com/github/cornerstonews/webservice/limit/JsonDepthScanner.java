@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+/**
+ * Tracks the nesting depth of JSON objects and arrays outside of strings.
+ */
+class JsonDepthScanner implements EntityScanner {
+
+    private final int maxDepth;
+    private int depth;
+    private boolean inString;
+    private boolean escaped;
+
+    JsonDepthScanner(int maxDepth) {
+        this.maxDepth = maxDepth;
+    }
+
+    @Override
+    public void scan(byte[] b, int off, int len) throws RequestLimitExceededException {
+        for (int i = off; i < off + len; i++) {
+            final byte c = b[i];
+            if (inString) {
+                if (escaped) {
+                    escaped = false;
+                } else if (c == '\\') {
+                    escaped = true;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                if (++depth > maxDepth) {
+                    throw new RequestLimitExceededException("JSON nesting depth exceeds " + maxDepth + ".");
+                }
+            } else if (c == '}' || c == ']') {
+                depth--;
+            }
+        }
+    }
+}
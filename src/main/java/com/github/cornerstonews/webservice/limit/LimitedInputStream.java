@@ -0,0 +1,106 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Counts the entity bytes read and passes them to the scanners, throwing {@link RequestLimitExceededException} as
+ * soon as a limit is exceeded so the entity is never fully buffered.
+ */
+public class LimitedInputStream extends FilterInputStream {
+
+    private static final EntityScanner[] NO_SCANNERS = new EntityScanner[0];
+
+    private final long maxSize;
+    private final EntityScanner[] scanners;
+    private long count;
+    private RequestLimitExceededException exceeded;
+
+    public LimitedInputStream(InputStream in, long maxSize) {
+        this(in, maxSize, NO_SCANNERS);
+    }
+
+    LimitedInputStream(InputStream in, long maxSize, EntityScanner... scanners) {
+        super(in);
+        this.maxSize = maxSize;
+        this.scanners = scanners;
+    }
+
+    /**
+     * @return the limit exceeded while reading, or {@code null}
+     */
+    public RequestLimitExceededException getExceeded() {
+        return exceeded;
+    }
+
+    @Override
+    public int read() throws IOException {
+        checkExceeded();
+        final int b = super.read();
+        if (b >= 0) {
+            inspect(new byte[] { (byte) b }, 0, 1);
+        }
+        return b;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        checkExceeded();
+        final int read = super.read(b, off, len);
+        if (read > 0) {
+            inspect(b, off, read);
+        }
+        return read;
+    }
+
+    @Override
+    public long skip(long n) throws IOException {
+        // skipped bytes must be scanned too
+        final byte[] buffer = new byte[(int) Math.min(n, 8192)];
+        final int read = read(buffer, 0, buffer.length);
+        return Math.max(read, 0);
+    }
+
+    @Override
+    public boolean markSupported() {
+        return false;
+    }
+
+    private void checkExceeded() throws RequestLimitExceededException {
+        if (exceeded != null) {
+            throw exceeded;
+        }
+    }
+
+    private void inspect(byte[] b, int off, int len) throws RequestLimitExceededException {
+        try {
+            count += len;
+            if (maxSize > 0 && count > maxSize) {
+                throw new RequestLimitExceededException("Request entity exceeds " + maxSize + " bytes.");
+            }
+            for (EntityScanner scanner : scanners) {
+                scanner.scan(b, off, len);
+            }
+        } catch (RequestLimitExceededException e) {
+            exceeded = e;
+            throw e;
+        }
+    }
+}
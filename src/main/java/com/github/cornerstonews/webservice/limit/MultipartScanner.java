@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Counts multipart body parts and their sizes by matching the {@code "\n--" + boundary} delimiter in the raw stream.
+ * A body with n parts has n + 1 delimiters, the last one being the close delimiter.
+ */
+class MultipartScanner implements EntityScanner {
+
+    private final byte[] delimiter;
+    private final int[] failure;
+    private final int maxParts;
+    private final long maxPartSize;
+
+    private int matched;
+    private int delimiters;
+    private long partSize;
+
+    MultipartScanner(String boundary, int maxParts, long maxPartSize) {
+        this.delimiter = ("\n--" + boundary).getBytes(StandardCharsets.US_ASCII);
+        this.failure = failureFunction(delimiter);
+        this.maxParts = maxParts;
+        this.maxPartSize = maxPartSize;
+        // The first delimiter may start the body, without a preceding line break
+        this.matched = 1;
+    }
+
+    @Override
+    public void scan(byte[] b, int off, int len) throws RequestLimitExceededException {
+        for (int i = off; i < off + len; i++) {
+            final byte c = b[i];
+            while (matched > 0 && delimiter[matched] != c) {
+                matched = failure[matched - 1];
+            }
+            if (delimiter[matched] == c) {
+                matched++;
+            }
+
+            if (matched == delimiter.length) {
+                matched = failure[matched - 1];
+                partSize = 0;
+                delimiters++;
+                if (maxParts > 0 && delimiters > maxParts + 1) {
+                    throw new RequestLimitExceededException("Multipart body has more than " + maxParts + " parts.");
+                }
+            } else if (maxPartSize > 0 && delimiters > 0 && ++partSize > maxPartSize + delimiter.length) {
+                // the delimiter bytes being matched are counted until the match completes
+                throw new RequestLimitExceededException("Multipart body part exceeds " + maxPartSize + " bytes.");
+            }
+        }
+    }
+
+    private static int[] failureFunction(byte[] pattern) {
+        final int[] failure = new int[pattern.length];
+        int k = 0;
+        for (int i = 1; i < pattern.length; i++) {
+            while (k > 0 && pattern[k] != pattern[i]) {
+                k = failure[k - 1];
+            }
+            if (pattern[k] == pattern[i]) {
+                k++;
+            }
+            failure[i] = k;
+        }
+        return failure;
+    }
+}
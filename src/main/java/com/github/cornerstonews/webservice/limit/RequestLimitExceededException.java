@@ -0,0 +1,38 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import java.io.IOException;
+
+/**
+ * Thrown by {@link LimitedInputStream} to abort reading an entity which exceeds a limit. Converted to a
+ * {@link com.github.cornerstonews.webservice.exception.PayloadTooLargeException} by {@link RequestLimitInterceptor},
+ * or mapped to 413 when it reaches the resource method reading the stream itself.
+ */
+public class RequestLimitExceededException extends IOException {
+
+    private static final long serialVersionUID = 1L;
+
+    public RequestLimitExceededException(String message) {
+        super(message);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
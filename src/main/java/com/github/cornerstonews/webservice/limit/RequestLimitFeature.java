@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import javax.ws.rs.container.DynamicFeature;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.FeatureContext;
+
+/**
+ * Registers a {@link RequestLimitInterceptor} for each resource method with the configured limits, overridden by
+ * {@link RequestLimit} on the method or else on the resource class.
+ */
+public class RequestLimitFeature implements DynamicFeature {
+
+    private final RequestLimits defaults;
+
+    public RequestLimitFeature(RequestLimits defaults) {
+        this.defaults = defaults;
+    }
+
+    @Override
+    public void configure(ResourceInfo resourceInfo, FeatureContext context) {
+        RequestLimit limit = resourceInfo.getResourceMethod().getAnnotation(RequestLimit.class);
+        if (limit == null) {
+            limit = resourceInfo.getResourceClass().getAnnotation(RequestLimit.class);
+        }
+
+        final RequestLimits limits = defaults.override(limit);
+        if (!limits.isUnlimited()) {
+            context.register(new RequestLimitInterceptor(limits));
+        }
+    }
+}
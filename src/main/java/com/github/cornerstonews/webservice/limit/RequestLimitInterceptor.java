@@ -0,0 +1,96 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.annotation.Priority;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ReaderInterceptor;
+import javax.ws.rs.ext.ReaderInterceptorContext;
+
+import com.github.cornerstonews.webservice.exception.PayloadTooLargeException;
+
+/**
+ * Enforces {@link RequestLimits} on the request entity: a declared {@code Content-Length} above the limit is rejected
+ * before reading, otherwise the entity stream is wrapped in a {@link LimitedInputStream}. Whatever the entity provider
+ * turns the aborted read into, a tripped limit is reported as {@link PayloadTooLargeException} (413).
+ */
+@Priority(Priorities.ENTITY_CODER)
+public class RequestLimitInterceptor implements ReaderInterceptor {
+
+    private final RequestLimits limits;
+
+    public RequestLimitInterceptor(RequestLimits limits) {
+        this.limits = limits;
+    }
+
+    @Override
+    public Object aroundReadFrom(ReaderInterceptorContext context) throws IOException {
+        if (limits.maxEntitySizeInBytes > 0) {
+            final String contentLength = context.getHeaders().getFirst(HttpHeaders.CONTENT_LENGTH);
+            if (contentLength != null && parseLength(contentLength) > limits.maxEntitySizeInBytes) {
+                throw new PayloadTooLargeException("Request entity exceeds " + limits.maxEntitySizeInBytes + " bytes.");
+            }
+        }
+
+        final InputStream original = context.getInputStream();
+        final LimitedInputStream limited = new LimitedInputStream(original, limits.maxEntitySizeInBytes, scanners(context.getMediaType()));
+        context.setInputStream(limited);
+        try {
+            return context.proceed();
+        } catch (IOException | RuntimeException e) {
+            if (limited.getExceeded() != null) {
+                throw new PayloadTooLargeException(limited.getExceeded().getMessage());
+            }
+            throw e;
+        } finally {
+            context.setInputStream(original);
+        }
+    }
+
+    private EntityScanner[] scanners(MediaType mediaType) {
+        final List<EntityScanner> scanners = new ArrayList<>(1);
+        if (mediaType != null) {
+            if (limits.maxJsonDepth > 0 && (MediaType.APPLICATION_JSON_TYPE.isCompatible(mediaType) || mediaType.getSubtype().endsWith("+json"))) {
+                scanners.add(new JsonDepthScanner(limits.maxJsonDepth));
+            } else if (limits.maxJsonDepth > 0 && ("application".equals(mediaType.getType()) && "cbor".equals(mediaType.getSubtype())
+                    || mediaType.getSubtype().endsWith("+cbor"))) {
+                scanners.add(new CborDepthScanner(limits.maxJsonDepth));
+            }
+
+            final String boundary = mediaType.getParameters().get("boundary");
+            if ((limits.maxParts > 0 || limits.maxPartSizeInBytes > 0) && "multipart".equals(mediaType.getType()) && boundary != null) {
+                scanners.add(new MultipartScanner(boundary, limits.maxParts, limits.maxPartSizeInBytes));
+            }
+        }
+        return scanners.toArray(new EntityScanner[scanners.size()]);
+    }
+
+    private static long parseLength(String contentLength) {
+        try {
+            return Long.parseLong(contentLength.trim());
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+/**
+ * Effective entity limits of a resource method, {@code 0} meaning unlimited.
+ */
+public final class RequestLimits {
+
+    final long maxEntitySizeInBytes;
+    final int maxJsonDepth;
+    final int maxParts;
+    final long maxPartSizeInBytes;
+
+    public RequestLimits(long maxEntitySizeInBytes, int maxJsonDepth, int maxParts, long maxPartSizeInBytes) {
+        this.maxEntitySizeInBytes = maxEntitySizeInBytes;
+        this.maxJsonDepth = maxJsonDepth;
+        this.maxParts = maxParts;
+        this.maxPartSizeInBytes = maxPartSizeInBytes;
+    }
+
+    /**
+     * @return these limits with the values set in the annotation, or these limits when it is {@code null}
+     */
+    RequestLimits override(RequestLimit limit) {
+        if (limit == null) {
+            return this;
+        }
+        return new RequestLimits(
+                limit.maxEntitySizeInBytes() < 0 ? maxEntitySizeInBytes : limit.maxEntitySizeInBytes(),
+                limit.maxJsonDepth() < 0 ? maxJsonDepth : limit.maxJsonDepth(),
+                limit.maxParts() < 0 ? maxParts : limit.maxParts(),
+                limit.maxPartSizeInBytes() < 0 ? maxPartSizeInBytes : limit.maxPartSizeInBytes());
+    }
+
+    boolean isUnlimited() {
+        return maxEntitySizeInBytes <= 0 && maxJsonDepth <= 0 && maxParts <= 0 && maxPartSizeInBytes <= 0;
+    }
+}
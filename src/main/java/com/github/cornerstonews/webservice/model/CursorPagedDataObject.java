@@ -0,0 +1,115 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.model;
+
+import javax.validation.constraints.Min;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+
+/**
+ * Keyset (cursor) pagination counterpart of {@link PagedDataObject}. Pages are addressed by opaque continuation tokens
+ * created with {@link com.github.cornerstonews.webservice.util.CursorCodec} from the sort key of the last item, so
+ * fetching a page costs the same however deep the client pages and no {@code COUNT} is needed.
+ */
+@XmlRootElement(name = "cursorPagedDataObject")
+public abstract class CursorPagedDataObject<T> {
+
+    /*
+     * Number of rows/elements/objects requested in a page
+     */
+    @XmlElement(name = "pageSize")
+    @Min(value = 0)
+    private Integer pageSize;
+
+    /*
+     * Token to request the page after this one, null on the last page
+     */
+    @XmlElement(name = "nextCursor")
+    private String nextCursor;
+
+    /*
+     * Token to request the page before this one, null on the first page or when backward paging is not supported
+     */
+    @XmlElement(name = "previousCursor")
+    private String previousCursor;
+
+    /*
+     * True/False based on if there is next page available to traverse
+     */
+    @XmlElement(name = "hasNextPage")
+    private Boolean hasNextPage;
+
+    /*
+     * Estimated total results, only set when the client asked for it as it may require a count on the backing store
+     */
+    @XmlElement(name = "estimatedTotalItems")
+    @Min(value = 0)
+    private Long estimatedTotalItems;
+
+    protected CursorPagedDataObject(Integer pageSize, String nextCursor) {
+        this(pageSize, nextCursor, null, null);
+    }
+
+    protected CursorPagedDataObject(Integer pageSize, String nextCursor, String previousCursor, Long estimatedTotalItems) {
+        this.pageSize = pageSize;
+        this.nextCursor = nextCursor;
+        this.previousCursor = previousCursor;
+        this.hasNextPage = nextCursor != null;
+        this.estimatedTotalItems = estimatedTotalItems;
+    }
+
+    public Integer getPageSize() {
+        return pageSize;
+    }
+
+    public void setPageSize(Integer pageSize) {
+        this.pageSize = pageSize;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+        this.hasNextPage = nextCursor != null;
+    }
+
+    public String getPreviousCursor() {
+        return previousCursor;
+    }
+
+    public void setPreviousCursor(String previousCursor) {
+        this.previousCursor = previousCursor;
+    }
+
+    public Boolean getHasNextPage() {
+        return hasNextPage;
+    }
+
+    public void setHasNextPage(Boolean hasNextPage) {
+        this.hasNextPage = hasNextPage;
+    }
+
+    public Long getEstimatedTotalItems() {
+        return estimatedTotalItems;
+    }
+
+    public void setEstimatedTotalItems(Long estimatedTotalItems) {
+        this.estimatedTotalItems = estimatedTotalItems;
+    }
+}
@@ -0,0 +1,120 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.model;
+
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+import javax.xml.bind.annotation.XmlElement;
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+/**
+ * An endpoint of the service, as listed by the endpoint logger. The roles are absent when any caller may use the
+ * endpoint and empty when it is denied to all callers.
+ */
+@XmlRootElement
+@XmlAccessorType(XmlAccessType.FIELD)
+@XmlType(propOrder = { "method", "path", "resourceClass", "produces", "consumes", "roles", "cachePolicy" })
+public class Endpoint {
+
+    private String method;
+
+    private String path;
+
+    @XmlElement(name = "class")
+    private String resourceClass;
+
+    private List<String> produces;
+
+    private List<String> consumes;
+
+    private List<String> roles;
+
+    private String cachePolicy;
+
+    public Endpoint() {
+    }
+
+    public Endpoint(String method, String path, String resourceClass) {
+        this.method = method;
+        this.path = path;
+        this.resourceClass = resourceClass;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public void setMethod(String method) {
+        this.method = method;
+    }
+
+    public String getPath() {
+        return path;
+    }
+
+    public void setPath(String path) {
+        this.path = path;
+    }
+
+    public String getResourceClass() {
+        return resourceClass;
+    }
+
+    public void setResourceClass(String resourceClass) {
+        this.resourceClass = resourceClass;
+    }
+
+    public List<String> getProduces() {
+        return produces;
+    }
+
+    public void setProduces(List<String> produces) {
+        this.produces = produces;
+    }
+
+    public List<String> getConsumes() {
+        return consumes;
+    }
+
+    public void setConsumes(List<String> consumes) {
+        this.consumes = consumes;
+    }
+
+    public List<String> getRoles() {
+        return roles;
+    }
+
+    public void setRoles(List<String> roles) {
+        this.roles = roles;
+    }
+
+    public String getCachePolicy() {
+        return cachePolicy;
+    }
+
+    public void setCachePolicy(String cachePolicy) {
+        this.cachePolicy = cachePolicy;
+    }
+
+    @Override
+    public String toString() {
+        return "Endpoint [method=" + method + ", path=" + path + ", class=" + resourceClass + "]";
+    }
+}
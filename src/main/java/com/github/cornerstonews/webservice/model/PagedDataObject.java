@@ -252,8 +252,8 @@ public abstract class PagedDataObject<T> {
         this.hasNextPage = this.currentPage <= (this.totalPages - 1);
         this.hasPreviousPage = this.currentPage > 1;
 
-        // create an array of pages for the pager control
-        pages = new ArrayList<>(totalPages);
+        // create an array of pages for the pager control, sized to the frame rather than to all pages
+        pages = new ArrayList<>(Math.max(0, this.endPage - this.startPage + 1));
         for (long i = this.startPage; i < this.endPage + 1; i++) {
             pages.add(i);
         }
@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.model;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.xml.bind.annotation.XmlTransient;
+
+/**
+ * {@link PagedDataObject} whose items are pulled from an {@link Iterator} or {@link Stream} while the response is
+ * written by {@link com.github.cornerstonews.webservice.provider.StreamingPagedDataObjectMessageBodyWriter}, so the
+ * page is never held in memory. The items can only be written once; the source is closed after writing.
+ */
+public class StreamingPagedDataObject<T> extends PagedDataObject<T> implements AutoCloseable {
+
+    private static final String DEFAULT_ITEMS_NAME = "items";
+
+    @XmlTransient
+    private final Iterator<? extends T> items;
+
+    @XmlTransient
+    private final AutoCloseable source;
+
+    @XmlTransient
+    private final String itemsName;
+
+    public StreamingPagedDataObject(Long totalItems, Integer pageSize, Integer currentPage, Iterator<? extends T> items) {
+        this(totalItems, pageSize, currentPage, items, null, DEFAULT_ITEMS_NAME);
+    }
+
+    public StreamingPagedDataObject(Long totalItems, Integer pageSize, Integer currentPage, Stream<? extends T> items) {
+        this(totalItems, pageSize, currentPage, items.iterator(), items, DEFAULT_ITEMS_NAME);
+    }
+
+    /**
+     * @param source    closed once the items are written, may be {@code null}
+     * @param itemsName name of the items array in the written document
+     */
+    public StreamingPagedDataObject(Long totalItems, Integer pageSize, Integer currentPage, Iterator<? extends T> items, AutoCloseable source,
+            String itemsName) {
+        super(totalItems, pageSize, currentPage);
+        this.items = items;
+        this.source = source;
+        this.itemsName = itemsName;
+    }
+
+    public Iterator<? extends T> items() {
+        return items;
+    }
+
+    public String itemsName() {
+        return itemsName;
+    }
+
+    /**
+     * Closes the source of the items, an {@link IOException} is rethrown as {@link UncheckedIOException} and other
+     * checked exceptions as {@link IllegalStateException}.
+     */
+    @Override
+    public void close() {
+        if (source == null) {
+            return;
+        }
+
+        try {
+            source.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException("Unable to close the items source.", e);
+        }
+    }
+}
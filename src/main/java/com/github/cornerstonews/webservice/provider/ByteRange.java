@@ -0,0 +1,137 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Inclusive byte range of a representation, as requested with the HTTP {@code Range} header (RFC 7233).
+ */
+public final class ByteRange {
+
+    /*
+     * Requests with more ranges are answered with the full representation
+     */
+    static final int MAX_RANGES = 16;
+
+    private static final String BYTES_UNIT = "bytes=";
+
+    private final long start;
+    private final long end;
+
+    public ByteRange(long start, long end) {
+        this.start = start;
+        this.end = end;
+    }
+
+    public long getStart() {
+        return start;
+    }
+
+    public long getEnd() {
+        return end;
+    }
+
+    public long getLength() {
+        return end - start + 1;
+    }
+
+    /**
+     * @return the {@code Content-Range} value of this range of a representation of the given length
+     */
+    public String toContentRange(long length) {
+        return "bytes " + start + '-' + end + '/' + length;
+    }
+
+    /**
+     * Parses a {@code Range} header against a representation of the given length.
+     *
+     * @return the satisfiable ranges in ascending order with overlapping and adjacent ranges merged, empty when none
+     *         is satisfiable (416), or {@code null} when the header is absent, malformed or has too many ranges, in
+     *         which case the full representation is sent
+     */
+    public static List<ByteRange> parse(String header, long length) {
+        if (header == null || !header.regionMatches(true, 0, BYTES_UNIT, 0, BYTES_UNIT.length())) {
+            return null;
+        }
+
+        final String[] specs = header.substring(BYTES_UNIT.length()).split(",");
+        if (specs.length > MAX_RANGES) {
+            return null;
+        }
+
+        final List<ByteRange> ranges = new ArrayList<>(specs.length);
+        for (String spec : specs) {
+            final String range = spec.trim();
+            final int dash = range.indexOf('-');
+            if (dash < 0) {
+                return null;
+            }
+
+            try {
+                if (dash == 0) {
+                    // suffix range, the last n bytes
+                    final long suffix = Long.parseLong(range.substring(1));
+                    if (suffix > 0 && length > 0) {
+                        ranges.add(new ByteRange(Math.max(0, length - suffix), length - 1));
+                    }
+                    continue;
+                }
+
+                final long start = Long.parseLong(range.substring(0, dash));
+                final String endSpec = range.substring(dash + 1);
+                final long end = endSpec.isEmpty() ? Long.MAX_VALUE : Long.parseLong(endSpec);
+                if (end < start) {
+                    return null;
+                }
+                if (start < length) {
+                    ranges.add(new ByteRange(start, Math.min(end, length - 1)));
+                }
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return ranges.isEmpty() ? Collections.emptyList() : coalesce(ranges);
+    }
+
+    /*
+     * Overlapping ranges would make a multipart response send the same bytes several times
+     */
+    private static List<ByteRange> coalesce(List<ByteRange> ranges) {
+        if (ranges.size() == 1) {
+            return ranges;
+        }
+
+        ranges.sort(Comparator.comparingLong(ByteRange::getStart));
+        final List<ByteRange> merged = new ArrayList<>(ranges.size());
+        ByteRange current = ranges.get(0);
+        for (int i = 1; i < ranges.size(); i++) {
+            final ByteRange next = ranges.get(i);
+            if (next.start <= current.end + 1) {
+                current = new ByteRange(current.start, Math.max(current.end, next.end));
+            } else {
+                merged.add(current);
+                current = next;
+            }
+        }
+        merged.add(current);
+        return merged;
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.core.MediaType;
+
+/**
+ * File entity, or ranges of it, written by {@link FileRegionMessageBodyWriter}. Several ranges are written as a
+ * {@code multipart/byteranges} body with the given boundary.
+ */
+public final class FileRegion {
+
+    private final Path file;
+    private final long fileLength;
+    private final List<ByteRange> ranges;
+    private final MediaType partType;
+    private final String boundary;
+
+    public FileRegion(Path file, long fileLength) {
+        this(file, fileLength, Collections.singletonList(new ByteRange(0, fileLength - 1)), null, null);
+    }
+
+    public FileRegion(Path file, long fileLength, List<ByteRange> ranges, MediaType partType, String boundary) {
+        this.file = file;
+        this.fileLength = fileLength;
+        this.ranges = ranges;
+        this.partType = partType;
+        this.boundary = boundary;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public long getFileLength() {
+        return fileLength;
+    }
+
+    public List<ByteRange> getRanges() {
+        return ranges;
+    }
+
+    public MediaType getPartType() {
+        return partType;
+    }
+
+    public String getBoundary() {
+        return boundary;
+    }
+
+    public boolean isMultipart() {
+        return boundary != null;
+    }
+}
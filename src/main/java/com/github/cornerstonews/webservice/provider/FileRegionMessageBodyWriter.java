@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+
+/**
+ * Writes {@link FileRegion}s with {@link FileChannel#transferTo(long, long, WritableByteChannel)}. This is not a
+ * zero-copy transfer: the Jersey entity stream is never a channel, so {@link Channels#newChannel(OutputStream)} copies
+ * each chunk through a small heap buffer. Memory use stays bounded whatever the size of the file.
+ */
+@Provider
+@Produces("*/*")
+public class FileRegionMessageBodyWriter implements MessageBodyWriter<FileRegion> {
+
+    private static final byte[] CRLF = "\r\n".getBytes(StandardCharsets.US_ASCII);
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return type == FileRegion.class;
+    }
+
+    @Override
+    public long getSize(FileRegion t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // deprecated by JAX-RS 2.0 and ignored by Jersey runtime
+        return -1;
+    }
+
+    @Override
+    public void writeTo(FileRegion region, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+
+        final WritableByteChannel target = entityStream instanceof WritableByteChannel ? (WritableByteChannel) entityStream
+                : Channels.newChannel(entityStream);
+
+        try (FileChannel file = FileChannel.open(region.getFile(), StandardOpenOption.READ)) {
+            if (!region.isMultipart()) {
+                final ByteRange range = region.getRanges().get(0);
+                transfer(file, range, target);
+                return;
+            }
+
+            final byte[] delimiter = ("--" + region.getBoundary()).getBytes(StandardCharsets.US_ASCII);
+            for (ByteRange range : region.getRanges()) {
+                entityStream.write(CRLF);
+                entityStream.write(delimiter);
+                entityStream.write(CRLF);
+                if (region.getPartType() != null) {
+                    entityStream.write(("Content-Type: " + region.getPartType()).getBytes(StandardCharsets.US_ASCII));
+                    entityStream.write(CRLF);
+                }
+                entityStream.write(("Content-Range: " + range.toContentRange(region.getFileLength())).getBytes(StandardCharsets.US_ASCII));
+                entityStream.write(CRLF);
+                entityStream.write(CRLF);
+                transfer(file, range, target);
+            }
+            entityStream.write(CRLF);
+            entityStream.write(delimiter);
+            entityStream.write("--".getBytes(StandardCharsets.US_ASCII));
+            entityStream.write(CRLF);
+        }
+    }
+
+    private static void transfer(FileChannel file, ByteRange range, WritableByteChannel target) throws IOException {
+        long position = range.getStart();
+        long remaining = range.getLength();
+        while (remaining > 0) {
+            final long transferred = file.transferTo(position, remaining, target);
+            if (transferred <= 0) {
+                // the file was truncated while it was being sent
+                throw new IOException("Could not transfer " + remaining + " remaining bytes of " + file);
+            }
+            position += transferred;
+            remaining -= transferred;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.io.IOException;
+import java.util.Iterator;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+/**
+ * Helpers shared by the streaming writers: mapper lookup and item writing with periodic flushes, so items reach the
+ * client in chunks while only the generator buffer is held in memory. Writes block when the client reads slowly, which
+ * in turn stops pulling items from the source.
+ */
+final class JsonStreaming {
+
+    /*
+     * Items written between two flushes of the generator
+     */
+    static final int FLUSH_INTERVAL = 100;
+
+    private static final ObjectMapper DEFAULT_MAPPER = new ObjectMapper();
+
+    private JsonStreaming() {
+    }
+
+    /**
+     * @return the CBOR mapper for CBOR, otherwise the {@link ObjectMapper} of the application
+     *         {@code ContextResolver<ObjectMapper>} or a default mapper
+     */
+    static ObjectMapper objectMapper(Providers providers, Class<?> type, MediaType mediaType) {
+        if (CborProvider.APPLICATION_CBOR_TYPE.isCompatible(mediaType)) {
+            return CborProvider.mapper();
+        }
+
+        if (providers != null) {
+            final ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, mediaType);
+            if (resolver != null) {
+                final ObjectMapper mapper = resolver.getContext(type);
+                if (mapper != null) {
+                    return mapper;
+                }
+            }
+        }
+        return DEFAULT_MAPPER;
+    }
+
+    /**
+     * Writes each item with the writer, flushing every {@link #FLUSH_INTERVAL} items.
+     */
+    static void writeItems(JsonGenerator generator, ObjectWriter writer, Iterator<?> items) throws IOException {
+        final ObjectWriter itemWriter = withoutFlush(writer);
+        int count = 0;
+        while (items.hasNext()) {
+            itemWriter.writeValue(generator, items.next());
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+    }
+
+    /**
+     * Writes each item as a root value followed by a new line, flushing every {@link #FLUSH_INTERVAL} items.
+     */
+    static void writeLines(JsonGenerator generator, ObjectWriter writer, Iterator<?> items) throws IOException {
+        generator.setRootValueSeparator(null);
+        final ObjectWriter itemWriter = withoutFlush(writer);
+        int count = 0;
+        while (items.hasNext()) {
+            itemWriter.writeValue(generator, items.next());
+            generator.writeRaw('\n');
+            if (++count % FLUSH_INTERVAL == 0) {
+                generator.flush();
+            }
+        }
+    }
+
+    /*
+     * ObjectWriter flushes the generator after each value by default, which would also sync flush compressed streams
+     */
+    private static ObjectWriter withoutFlush(ObjectWriter writer) {
+        return writer.without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+    }
+}
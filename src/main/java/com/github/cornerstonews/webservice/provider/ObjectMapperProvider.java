@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.module.afterburner.AfterburnerModule;
+import com.fasterxml.jackson.module.blackbird.BlackbirdModule;
+import com.fasterxml.jackson.module.jaxb.JaxbAnnotationModule;
+import com.github.cornerstonews.webservice.jwt.JwtTokenDO;
+import com.github.cornerstonews.webservice.model.WsError;
+
+/**
+ * Supplies the single {@link ObjectMapper} shared by the Jackson JSON provider and the streaming writers. The mapper
+ * honors the JAXB annotations of the model classes, omits null values like MOXy does, and uses generated accessors
+ * (Blackbird, or Afterburner on Java 8) instead of reflection. Serializers of the library types are created up front
+ * so the first requests do not pay for them.
+ */
+@Provider
+public class ObjectMapperProvider implements ContextResolver<ObjectMapper> {
+
+    private static final Logger log = LogManager.getLogger(ObjectMapperProvider.class);
+
+    private final ObjectMapper mapper;
+
+    public ObjectMapperProvider() {
+        this(WsError.class, JwtTokenDO.class);
+    }
+
+    /**
+     * @param prewarmTypes types whose serializers and deserializers are created eagerly
+     */
+    public ObjectMapperProvider(Class<?>... prewarmTypes) {
+        this.mapper = configure(new ObjectMapper());
+        prewarm(mapper, prewarmTypes);
+    }
+
+    /**
+     * Applies the library settings to a mapper, also used for the binary format mappers and the entity tag digests.
+     */
+    public static <M extends ObjectMapper> M configure(M mapper) {
+        mapper.registerModule(new JaxbAnnotationModule())
+                .registerModule(accessorModule())
+                .setSerializationInclusion(JsonInclude.Include.NON_NULL)
+                .disable(SerializationFeature.FAIL_ON_EMPTY_BEANS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        return mapper;
+    }
+
+    public void prewarm(Class<?>... types) {
+        prewarm(mapper, types);
+    }
+
+    static void prewarm(ObjectMapper mapper, Class<?>... types) {
+        for (Class<?> type : types) {
+            try {
+                mapper.writerFor(type);
+                mapper.readerFor(type);
+            } catch (RuntimeException e) {
+                log.debug("Could not prewarm Jackson serializers for {}. Error: {}", type.getName(), e.getMessage());
+            }
+        }
+    }
+
+    @Override
+    public ObjectMapper getContext(Class<?> type) {
+        return mapper;
+    }
+
+    private static Module accessorModule() {
+        // Blackbird needs MethodHandles.privateLookupIn from Java 9
+        if (System.getProperty("java.specification.version", "1.8").startsWith("1.")) {
+            return new AfterburnerModule();
+        }
+        return new BlackbirdModule();
+    }
+}
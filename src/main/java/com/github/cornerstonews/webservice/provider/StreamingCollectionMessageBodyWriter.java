@@ -0,0 +1,92 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Writes {@link Stream} and {@link Iterator} entities element by element, as newline delimited JSON for
+ * {@value #APPLICATION_NDJSON} or as a JSON (or CBOR) array otherwise. A single generator is used for the whole response and
+ * flushed periodically; elements are only pulled from the source as fast as the client reads them, since writes block
+ * once the container buffers are full. Streams are closed after writing.
+ */
+@Provider
+@Produces({ StreamingCollectionMessageBodyWriter.APPLICATION_NDJSON, MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR })
+public class StreamingCollectionMessageBodyWriter implements MessageBodyWriter<Object> {
+
+    public static final String APPLICATION_NDJSON = "application/x-ndjson";
+    public static final MediaType APPLICATION_NDJSON_TYPE = new MediaType("application", "x-ndjson");
+
+    @Context
+    private Providers providers;
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return Stream.class.isAssignableFrom(type) || Iterator.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(Object t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // deprecated by JAX-RS 2.0 and ignored by Jersey runtime
+        return -1;
+    }
+
+    @Override
+    public void writeTo(Object entity, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+
+        final ObjectMapper mapper = JsonStreaming.objectMapper(providers, type, mediaType);
+        final boolean ndjson = APPLICATION_NDJSON_TYPE.isCompatible(mediaType);
+
+        if (entity instanceof Stream) {
+            try (Stream<?> stream = (Stream<?>) entity) {
+                write(mapper, stream.iterator(), ndjson, entityStream);
+            }
+        } else {
+            write(mapper, (Iterator<?>) entity, ndjson, entityStream);
+        }
+    }
+
+    private static void write(ObjectMapper mapper, Iterator<?> items, boolean ndjson, OutputStream entityStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(entityStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (ndjson) {
+                JsonStreaming.writeLines(generator, mapper.writer(), items);
+            } else {
+                generator.writeStartArray();
+                JsonStreaming.writeItems(generator, mapper.writer(), items);
+                generator.writeEndArray();
+            }
+        }
+    }
+}
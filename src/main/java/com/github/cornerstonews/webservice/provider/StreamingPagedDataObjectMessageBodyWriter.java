@@ -0,0 +1,138 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Type;
+import java.util.List;
+
+import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.MessageBodyWriter;
+import javax.ws.rs.ext.Provider;
+import javax.ws.rs.ext.Providers;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.cornerstonews.webservice.model.StreamingPagedDataObject;
+
+/**
+ * Writes {@link StreamingPagedDataObject} as JSON (or CBOR) with the same paging fields as {@code PagedDataObject}, followed by
+ * the items array streamed from the item source. Without a {@code Content-Length} Jersey sends the response with
+ * chunked transfer encoding once its outbound buffer is exceeded. The source is closed once written; a failure to close
+ * it is added as suppressed to a failure writing the items.
+ * <p>
+ * XML is declared only to be rejected with 406: the JAXB providers would otherwise write the paging fields without
+ * the items.
+ */
+@Provider
+@Produces({ MediaType.APPLICATION_JSON, CborProvider.APPLICATION_CBOR, MediaType.APPLICATION_XML, MediaType.TEXT_XML })
+public class StreamingPagedDataObjectMessageBodyWriter implements MessageBodyWriter<StreamingPagedDataObject<?>> {
+
+    @Context
+    private Providers providers;
+
+    @Override
+    public boolean isWriteable(Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        return StreamingPagedDataObject.class.isAssignableFrom(type);
+    }
+
+    @Override
+    public long getSize(StreamingPagedDataObject<?> t, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType) {
+        // deprecated by JAX-RS 2.0 and ignored by Jersey runtime
+        return -1;
+    }
+
+    @Override
+    public void writeTo(StreamingPagedDataObject<?> page, Class<?> type, Type genericType, Annotation[] annotations, MediaType mediaType,
+            MultivaluedMap<String, Object> httpHeaders, OutputStream entityStream) throws IOException {
+
+        final ObjectMapper mapper = JsonStreaming.objectMapper(providers, type, mediaType);
+        try (StreamingPagedDataObject<?> source = page) {
+            if (isXml(mediaType)) {
+                throw new NotAcceptableException("Streamed pages can not be written as " + mediaType + ".");
+            }
+            write(source, mapper, entityStream);
+        } catch (UncheckedIOException e) {
+            final IOException cause = e.getCause();
+            for (Throwable suppressed : e.getSuppressed()) {
+                cause.addSuppressed(suppressed);
+            }
+            throw cause;
+        }
+    }
+
+    private static void write(StreamingPagedDataObject<?> page, ObjectMapper mapper, OutputStream entityStream) throws IOException {
+        try (JsonGenerator generator = mapper.getFactory().createGenerator(entityStream)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            if (mapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+                generator.useDefaultPrettyPrinter();
+            }
+
+            generator.writeStartObject();
+            writeNumber(generator, "startIndex", page.getStartIndex());
+            writeNumber(generator, "endIndex", page.getEndIndex());
+            writeNumber(generator, "totalItems", page.getTotalItems());
+            writeNumber(generator, "pageSize", page.getPageSize());
+            writeNumber(generator, "currentPage", page.getCurrentPage());
+            writeNumber(generator, "startPage", page.getStartPage());
+            writeNumber(generator, "endPage", page.getEndPage());
+            writeNumber(generator, "totalPages", page.getTotalPages());
+            writePages(generator, page.getPages());
+            writeBoolean(generator, "hasNextPage", page.getHasNextPage());
+            writeBoolean(generator, "hasPreviousPage", page.getHasPreviousPage());
+
+            generator.writeArrayFieldStart(page.itemsName());
+            JsonStreaming.writeItems(generator, mapper.writer(), page.items());
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+    }
+
+    private static boolean isXml(MediaType mediaType) {
+        return mediaType.getSubtype().equals("xml") || mediaType.getSubtype().endsWith("+xml");
+    }
+
+    private static void writeNumber(JsonGenerator generator, String name, Number value) throws IOException {
+        if (value != null) {
+            generator.writeNumberField(name, value.longValue());
+        }
+    }
+
+    private static void writeBoolean(JsonGenerator generator, String name, Boolean value) throws IOException {
+        if (value != null) {
+            generator.writeBooleanField(name, value);
+        }
+    }
+
+    private static void writePages(JsonGenerator generator, List<Long> pages) throws IOException {
+        if (pages != null) {
+            generator.writeArrayFieldStart("pages");
+            for (Long p : pages) {
+                generator.writeNumber(p);
+            }
+            generator.writeEndArray();
+        }
+    }
+}
@@ -40,7 +40,7 @@ public abstract class AppConfigResource<T extends BaseWebserviceConfig> {
     @Produces(MediaType.APPLICATION_JSON)
     @Timed
     public Response getAppConfig(@QueryParam("pretty") boolean pretty) throws NotModifiedException {
-        return WSResponse.response(request, getConfig(), Status.OK);
+        return WSResponse.conditional(request, getConfig(), Status.OK).build();
     }
     
 }
@@ -0,0 +1,127 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.resource;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Configuration;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Providers;
+
+import org.glassfish.jersey.server.ResourceConfig;
+import org.glassfish.jersey.server.model.Resource;
+
+import com.codahale.metrics.annotation.Timed;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.webservice.ResourceModelCache;
+import com.github.cornerstonews.webservice.WebserviceEnpointLogger;
+import com.github.cornerstonews.webservice.authorization.MonitorRole;
+import com.github.cornerstonews.webservice.authorization.MonitorRoleFilter;
+import com.github.cornerstonews.webservice.cache.CachePolicy;
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+import com.github.cornerstonews.webservice.configuration.injection.Config;
+import com.github.cornerstonews.webservice.model.Endpoint;
+import com.github.cornerstonews.webservice.provider.ObjectMapperProvider;
+import com.github.cornerstonews.webservice.util.EntityTagGenerator;
+
+/**
+ * JSON inventory of the endpoints listed by {@link WebserviceEnpointLogger}, for gateways building their routing
+ * table. The resource model does not change once the application is initialized, so the inventory is serialized on
+ * the first request with the application {@link ObjectMapper} and the same bytes, tagged with their digest, are
+ * returned afterwards.
+ * <p>
+ * Access is checked by {@link MonitorRoleFilter}, which permits everyone when no role is configured, so the application
+ * only registers this resource when the admin and monitor resource roles are set.
+ */
+@Path("endpoints")
+@MonitorRole
+@Singleton
+public class EndpointsResource {
+
+    @Inject
+    private ResourceModelCache resourceModelCache;
+
+    @Context
+    private Configuration configuration;
+
+    @Context
+    private Providers providers;
+
+    @Config
+    private BaseWebserviceConfig config;
+
+    private volatile Inventory inventory;
+
+    @GET
+    @Produces(MediaType.APPLICATION_JSON)
+    @Timed
+    @CachePolicy(noCache = true)
+    public Response getEndpoints(@Context Request request) throws JsonProcessingException {
+        final Inventory current = getInventory();
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(current.tag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        return Response.ok(current.json).tag(current.tag).build();
+    }
+
+    private Inventory getInventory() throws JsonProcessingException {
+        Inventory current = this.inventory;
+        if (current == null) {
+            final Set<Class<?>> resourceClasses = resourceModelCache.getResourceClasses(configuration.getClasses());
+            final Set<Resource> resources = configuration instanceof ResourceConfig ? ((ResourceConfig) configuration).getResources()
+                    : Collections.emptySet();
+            final List<Endpoint> endpoints = new WebserviceEnpointLogger(resourceModelCache).getEndpoints(resourceClasses, resources, config);
+
+            final byte[] json = objectMapper().writeValueAsBytes(endpoints);
+            current = new Inventory(json, EntityTagGenerator.generate(json));
+            this.inventory = current;
+        }
+        return current;
+    }
+
+    private ObjectMapper objectMapper() {
+        final ContextResolver<ObjectMapper> resolver = providers.getContextResolver(ObjectMapper.class, MediaType.APPLICATION_JSON_TYPE);
+        final ObjectMapper mapper = resolver != null ? resolver.getContext(Endpoint.class) : null;
+        return mapper != null ? mapper : new ObjectMapperProvider().getContext(Endpoint.class);
+    }
+
+    private static class Inventory {
+        private final byte[] json;
+        private final EntityTag tag;
+
+        Inventory(byte[] json, EntityTag tag) {
+            this.json = json;
+            this.tag = tag;
+        }
+    }
+}
@@ -38,6 +38,7 @@ import com.codahale.metrics.json.HealthCheckModule;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.cornerstonews.webservice.authorization.MonitorRole;
+import com.github.cornerstonews.webservice.cache.CachePolicy;
 
 @Path("healthcheck")
 @MonitorRole
@@ -56,6 +57,7 @@ public class HealthCheckResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Timed
+    @CachePolicy(noCache = true, noStore = true, mustRevalidate = true)
     public Response getHealthchecks(@QueryParam("pretty") boolean pretty) throws JsonProcessingException {
 
         final SortedMap<String, HealthCheck.Result> healthCheckResults = this.runHealthChecks();
@@ -76,7 +78,7 @@ public class HealthCheckResource {
             result = mapper.writer().writeValueAsString(healthCheckResults);
         }
         
-        return Response.status(status).entity(result).header("Cache-Control", "must-revalidate,no-cache,no-store").build();
+        return Response.status(status).entity(result).build();
     }
     
     private static boolean isAllHealthy(Map<String, HealthCheck.Result> results) {
@@ -34,6 +34,7 @@ import com.codahale.metrics.json.MetricsModule;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.cornerstonews.webservice.authorization.MonitorRole;
+import com.github.cornerstonews.webservice.cache.CachePolicy;
 import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
 import com.github.cornerstonews.webservice.configuration.injection.Config;
 
@@ -69,6 +70,7 @@ public class MetricsResource {
     @GET
     @Produces(MediaType.APPLICATION_JSON)
     @Timed
+    @CachePolicy(noCache = true, noStore = true, mustRevalidate = true)
     public Response getMetrics(@QueryParam("pretty") boolean pretty) throws JsonProcessingException {
         
         String result;
@@ -78,7 +80,7 @@ public class MetricsResource {
             result = this.getObjectMapper().writer().writeValueAsString(registry);
         }
         
-        return Response.ok(result).header("Cache-Control", "must-revalidate,no-cache,no-store").build();
+        return Response.ok(result).build();
     }
 
 }
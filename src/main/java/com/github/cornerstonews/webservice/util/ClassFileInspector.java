@@ -0,0 +1,219 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Reads the name, super types, access flags and class level annotations of a class from its class file bytes, without
+ * loading the class.
+ */
+public class ClassFileInspector {
+
+    private static final int MAGIC = 0xCAFEBABE;
+    private static final String RUNTIME_VISIBLE_ANNOTATIONS = "RuntimeVisibleAnnotations";
+
+    private static final int ACC_ANNOTATION = 0x2000;
+    private static final int ACC_ENUM = 0x4000;
+
+    private ClassFileInspector() {
+    }
+
+    public static ClassInfo inspect(InputStream classFile) throws IOException {
+        final DataInputStream in = new DataInputStream(new BufferedInputStream(classFile));
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a class file.");
+        }
+        in.readUnsignedShort(); // minor version
+        in.readUnsignedShort(); // major version
+
+        final int constantPoolCount = in.readUnsignedShort();
+        final String[] utf8 = new String[constantPoolCount];
+        final int[] classNameIndex = new int[constantPoolCount];
+        for (int i = 1; i < constantPoolCount; i++) {
+            final int tag = in.readUnsignedByte();
+            switch (tag) {
+            case 1: // Utf8
+                utf8[i] = in.readUTF();
+                break;
+            case 7: // Class
+                classNameIndex[i] = in.readUnsignedShort();
+                break;
+            case 8: // String
+            case 16: // MethodType
+            case 19: // Module
+            case 20: // Package
+                in.skipBytes(2);
+                break;
+            case 15: // MethodHandle
+                in.skipBytes(3);
+                break;
+            case 3: // Integer
+            case 4: // Float
+            case 9: // Fieldref
+            case 10: // Methodref
+            case 11: // InterfaceMethodref
+            case 12: // NameAndType
+            case 17: // Dynamic
+            case 18: // InvokeDynamic
+                in.skipBytes(4);
+                break;
+            case 5: // Long
+            case 6: // Double
+                in.skipBytes(8);
+                i++;
+                break;
+            default:
+                throw new IOException("Unknown constant pool tag " + tag + '.');
+            }
+        }
+
+        final int access = in.readUnsignedShort();
+        final String name = utf8[classNameIndex[in.readUnsignedShort()]];
+        final int superIndex = in.readUnsignedShort();
+        final String superName = superIndex == 0 ? null : utf8[classNameIndex[superIndex]];
+
+        final int interfaceCount = in.readUnsignedShort();
+        final List<String> interfaces = new ArrayList<>(interfaceCount);
+        for (int i = 0; i < interfaceCount; i++) {
+            interfaces.add(utf8[classNameIndex[in.readUnsignedShort()]]);
+        }
+
+        skipMembers(in); // fields
+        skipMembers(in); // methods
+
+        List<String> annotations = Collections.emptyList();
+        final int attributeCount = in.readUnsignedShort();
+        for (int i = 0; i < attributeCount; i++) {
+            final String attribute = utf8[in.readUnsignedShort()];
+            final int length = in.readInt();
+            if (RUNTIME_VISIBLE_ANNOTATIONS.equals(attribute)) {
+                final int annotationCount = in.readUnsignedShort();
+                annotations = new ArrayList<>(annotationCount);
+                for (int j = 0; j < annotationCount; j++) {
+                    final String descriptor = utf8[in.readUnsignedShort()];
+                    annotations.add(descriptor.substring(1, descriptor.length() - 1));
+                    skipElementValuePairs(in);
+                }
+            } else {
+                in.skipBytes(length);
+            }
+        }
+
+        return new ClassInfo(access, name, superName, interfaces, annotations);
+    }
+
+    private static void skipMembers(DataInputStream in) throws IOException {
+        final int count = in.readUnsignedShort();
+        for (int i = 0; i < count; i++) {
+            in.skipBytes(6); // access flags, name and descriptor
+            final int attributeCount = in.readUnsignedShort();
+            for (int j = 0; j < attributeCount; j++) {
+                in.skipBytes(2);
+                in.skipBytes(in.readInt());
+            }
+        }
+    }
+
+    private static void skipElementValuePairs(DataInputStream in) throws IOException {
+        final int pairs = in.readUnsignedShort();
+        for (int i = 0; i < pairs; i++) {
+            in.skipBytes(2);
+            skipElementValue(in);
+        }
+    }
+
+    private static void skipElementValue(DataInputStream in) throws IOException {
+        final int tag = in.readUnsignedByte();
+        switch (tag) {
+        case 'e':
+            in.skipBytes(4);
+            break;
+        case '@':
+            in.skipBytes(2);
+            skipElementValuePairs(in);
+            break;
+        case '[':
+            final int values = in.readUnsignedShort();
+            for (int i = 0; i < values; i++) {
+                skipElementValue(in);
+            }
+            break;
+        default:
+            // constants and classes
+            in.skipBytes(2);
+        }
+    }
+
+    /**
+     * Class file data, names are internal names such as {@code java/lang/Object}.
+     */
+    public static class ClassInfo {
+
+        private final int access;
+        private final String name;
+        private final String superName;
+        private final List<String> interfaces;
+        private final List<String> annotations;
+
+        ClassInfo(int access, String name, String superName, List<String> interfaces, List<String> annotations) {
+            this.access = access;
+            this.name = name;
+            this.superName = superName;
+            this.interfaces = interfaces;
+            this.annotations = annotations;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public String getClassName() {
+            return name.replace('/', '.');
+        }
+
+        public String getSuperName() {
+            return superName;
+        }
+
+        public List<String> getInterfaces() {
+            return interfaces;
+        }
+
+        public List<String> getAnnotations() {
+            return annotations;
+        }
+
+        public boolean isAnnotationPresent(Class<?> annotation) {
+            return annotations.contains(annotation.getName().replace('.', '/'));
+        }
+
+        /**
+         * @return whether the class is a concrete class, not an interface, annotation, enum or abstract class
+         */
+        public boolean isConcrete() {
+            return (access & (Modifier.INTERFACE | Modifier.ABSTRACT | ACC_ANNOTATION | ACC_ENUM)) == 0;
+        }
+    }
+}
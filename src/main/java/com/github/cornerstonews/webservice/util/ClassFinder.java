@@ -16,97 +16,242 @@
  */
 package com.github.cornerstonews.webservice.util;
 
-import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.annotation.Annotation;
+import java.net.JarURLConnection;
+import java.net.URISyntaxException;
 import java.net.URL;
+import java.net.URLConnection;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.ArrayList;
-import java.util.Arrays;
 import java.util.Enumeration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.jar.JarEntry;
+import java.util.jar.JarFile;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
+
+import javax.ws.rs.ext.Provider;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Finds the classes of a package assignable to a super class and, optionally, annotated with a required annotation.
+ * Class files are inspected with {@link ClassFileInspector}, so only the matching classes are loaded, and none is
+ * initialized. When looking for {@link Provider}s, jars and directories having a {@link ProviderIndex} are not
+ * scanned, the classes listed in the index are used instead.
+ */
 public class ClassFinder {
 
 	private static final Logger log = LogManager.getLogger(ClassFinder.class);
-	
+
+	private static final String CLASS_SUFFIX = ".class";
+
 	private String requiredPackage = null;
-	
+
 	private Class<?> superClass = null;
-	
+
+	private Class<? extends Annotation> requiredAnnotation = null;
+
+	private ClassLoader classLoader;
+
+	private final Map<String, Boolean> assignable = new HashMap<>();
+
 	private List<Class<?>> classes = new ArrayList<>();
-	
+
 	public ClassFinder() {}
-	
+
 	public ClassFinder(Class<?> superClass) {
 		this(superClass, null);
 	}
-	
+
 	public ClassFinder(Class<?> superClass, String requiredPackage) {
+		this(superClass, requiredPackage, null);
+	}
+
+	public ClassFinder(Class<?> superClass, String requiredPackage, Class<? extends Annotation> requiredAnnotation) {
 		this.superClass = superClass;
 		this.requiredPackage = requiredPackage;
+		this.requiredAnnotation = requiredAnnotation;
 	}
-	
+
 	public List<Class<?>> getClasses() throws IOException {
-		ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+		this.classLoader = Thread.currentThread().getContextClassLoader();
 		assert classLoader != null;
-		
+
 		String path = "";
 		if(this.requiredPackage != null) {
 			path = this.requiredPackage.replace('.', '/');
 		}
 		log.info("Looking for classes with package path: {}", path);
-		
+
 		Enumeration<URL> resources = classLoader.getResources(path);
 		while (resources.hasMoreElements()) {
 			URL resource = resources.nextElement();
-			String directoryString = resource.getFile().replace("!/" + path + "/", "").replace("file:", "");
-			File directoryFile = new File(directoryString);
-			this.classes.addAll(findClasses(directoryFile));
+			if ("jar".equals(resource.getProtocol())) {
+				findInJar(resource, path);
+			} else if ("file".equals(resource.getProtocol())) {
+				findInDirectory(resource, path);
+			} else {
+				log.debug("Skipping unsupported location: {}", resource);
+			}
 		}
-		
+
 		return this.classes;
 	}
 
-	private List<Class<?>> findClasses(File directoryFile) {
-		log.debug("Looking for classes in '{}'", directoryFile.toString());
-		
-		ArrayList<Class<?>> classesFound = new ArrayList<>();
-		if (!directoryFile.exists()) {
-			log.debug("Skipping directory: {}", directoryFile.toString());
-			return classesFound;
+	private void findInJar(URL resource, String path) throws IOException {
+		final URLConnection connection = resource.openConnection();
+		if (!(connection instanceof JarURLConnection)) {
+			log.debug("Skipping unsupported location: {}", resource);
+			return;
+		}
+		connection.setUseCaches(false);
+
+		try (JarFile jar = ((JarURLConnection) connection).getJarFile()) {
+			log.debug("Looking for classes in '{}'", jar.getName());
+			final JarEntry index = jar.getJarEntry(ProviderIndex.RESOURCE);
+			if (index != null && isIndexed()) {
+				try (InputStream in = jar.getInputStream(index)) {
+					addIndexed(ProviderIndex.read(in));
+				}
+				return;
+			}
+
+			final String prefix = path.isEmpty() ? "" : path + "/";
+			final List<JarEntry> entries = jar.stream()
+					.filter(entry -> entry.getName().startsWith(prefix) && isClassFile(entry.getName()))
+					.collect(Collectors.toList());
+			for (JarEntry entry : entries) {
+				try (InputStream in = jar.getInputStream(entry)) {
+					inspect(in, entry.getName());
+				}
+			}
+		}
+	}
+
+	private void findInDirectory(URL resource, String path) throws IOException {
+		final Path directory;
+		try {
+			directory = Paths.get(resource.toURI());
+		} catch (URISyntaxException | IllegalArgumentException e) {
+			log.debug("Skipping unsupported location: {}", resource);
+			return;
+		}
+		log.debug("Looking for classes in '{}'", directory);
+
+		Path root = directory;
+		for (int i = path.isEmpty() ? 0 : path.split("/").length; i > 0 && root != null; i--) {
+			root = root.getParent();
+		}
+		final Path index = root == null ? null : root.resolve(ProviderIndex.RESOURCE);
+		if (index != null && Files.isRegularFile(index) && isIndexed()) {
+			try (InputStream in = Files.newInputStream(index)) {
+				addIndexed(ProviderIndex.read(in));
+			}
+			return;
+		}
+
+		final List<Path> classFiles;
+		try (Stream<Path> files = Files.walk(directory)) {
+			classFiles = files.filter(file -> isClassFile(file.getFileName().toString())).collect(Collectors.toList());
+		}
+		for (Path classFile : classFiles) {
+			try (InputStream in = Files.newInputStream(classFile)) {
+				inspect(in, classFile.toString());
+			}
+		}
+	}
+
+	private boolean isIndexed() {
+		return this.requiredAnnotation == Provider.class;
+	}
+
+	private void addIndexed(List<String> classNames) {
+		final String prefix = this.requiredPackage == null ? "" : this.requiredPackage + ".";
+		for (String className : classNames) {
+			if (!className.startsWith(prefix)) {
+				continue;
+			}
+			final Class<?> clazz = loadClass(className);
+			if (clazz != null && (this.superClass == null || this.superClass.isAssignableFrom(clazz))
+					&& clazz.isAnnotationPresent(this.requiredAnnotation)) {
+				log.debug("  --> indexed: {}", className);
+				this.classes.add(clazz);
+			}
 		}
+	}
 
-		if ((directoryFile.getName().endsWith(".jar") || (directoryFile.getName().endsWith(".zip")))) {
-			try (Stream<? extends ZipEntry> zipFile = new ZipFile(directoryFile).stream()) {
-				zipFile.filter(file -> file.getName().endsWith(".class"))
-					.peek(file -> log.debug("  --> file: {}", file.getName()))
-					.forEach(file -> classesFound.add(getClassByName(file.getName())));
+	private void inspect(InputStream in, String file) {
+		try {
+			final ClassFileInspector.ClassInfo info = ClassFileInspector.inspect(in);
+			if (info.isConcrete()
+					&& (this.requiredAnnotation == null || info.isAnnotationPresent(this.requiredAnnotation))
+					&& (this.superClass == null || isAssignable(info))) {
+				log.debug("  --> file: {}", file);
+				final Class<?> clazz = loadClass(info.getClassName());
+				if (clazz != null) {
+					this.classes.add(clazz);
+				}
+			}
+		} catch (IOException e) {
+			log.debug("Skipping unreadable class file {}. Error: {}", file, e.getMessage());
+		}
+	}
+
+	private boolean isAssignable(ClassFileInspector.ClassInfo info) {
+		if (this.superClass.getName().equals(info.getClassName())) {
+			return true;
+		}
+		if (info.getSuperName() != null && isAssignable(info.getSuperName())) {
+			return true;
+		}
+		for (String superInterface : info.getInterfaces()) {
+			if (isAssignable(superInterface)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean isAssignable(String internalName) {
+		final Boolean cached = this.assignable.get(internalName);
+		if (cached != null) {
+			return cached;
+		}
+
+		boolean result;
+		if (internalName.startsWith("java/")) {
+			// platform classes are loaded already
+			final Class<?> clazz = loadClass(internalName.replace('/', '.'));
+			result = clazz != null && this.superClass.isAssignableFrom(clazz);
+		} else {
+			try (InputStream in = this.classLoader.getResourceAsStream(internalName + CLASS_SUFFIX)) {
+				result = in != null && isAssignable(ClassFileInspector.inspect(in));
 			} catch (IOException e) {
-				log.error("Exception caught creating ZipFile. ", e);
+				result = false;
 			}
-		} 
-		else {
-			Arrays.stream(directoryFile.listFiles())
-				.peek(file -> log.debug("  --> file: {}", file.getName()))
-				.map(file -> file.isDirectory() ? findClasses(file) : classesFound.add(getClassByName(file.getName())));
 		}
 
-		return classesFound.stream()
-				.filter(clazz -> (this.superClass == null || this.superClass.isAssignableFrom(clazz)))
-				.collect(Collectors.toList());
+		this.assignable.put(internalName, result);
+		return result;
 	}
-	
-	private Class<?> getClassByName(String clazzName) {
-    	try {
-			return Class.forName(clazzName.replace('/', '.').replace(".class", ""));
-		} catch (ClassNotFoundException e) {
-			log.error("This should not happen since we are locating class from classpath.", e);
+
+	private static boolean isClassFile(String name) {
+		return name.endsWith(CLASS_SUFFIX) && !name.endsWith("module-info.class") && !name.endsWith("package-info.class");
+	}
+
+	private Class<?> loadClass(String className) {
+		try {
+			return Class.forName(className, false, this.classLoader);
+		} catch (ClassNotFoundException | LinkageError e) {
+			log.debug("Class {} could not be loaded. Error: {}", className, e.getMessage());
 			return null;
 		}
 	}
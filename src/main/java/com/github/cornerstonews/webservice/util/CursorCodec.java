@@ -0,0 +1,110 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.Base64;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import com.github.cornerstonews.webservice.exception.InputValidationException;
+
+/**
+ * Encodes pagination positions (typically the sort key of the last item of a page) into opaque tokens signed with
+ * HMAC-SHA256, {@code base64url(position) "." base64url(signature)}. Tokens which were altered or not issued with the
+ * same key are rejected with an {@link InputValidationException}.
+ */
+public class CursorCodec {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int SIGNATURE_LENGTH = 16;
+    private static final String INVALID_CURSOR = "Invalid cursor.";
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final ThreadLocal<Mac> mac;
+
+    /**
+     * Codec with a random key, tokens are only valid for this instance.
+     */
+    public CursorCodec() {
+        this(randomKey());
+    }
+
+    public CursorCodec(byte[] key) {
+        final SecretKeySpec keySpec = new SecretKeySpec(Arrays.copyOf(key, key.length), ALGORITHM);
+        this.mac = ThreadLocal.withInitial(() -> {
+            try {
+                Mac m = Mac.getInstance(ALGORITHM);
+                m.init(keySpec);
+                return m;
+            } catch (GeneralSecurityException e) {
+                throw new IllegalStateException("Could not initialize " + ALGORITHM, e);
+            }
+        });
+    }
+
+    public String encode(String position) {
+        final byte[] payload = position.getBytes(StandardCharsets.UTF_8);
+        return ENCODER.encodeToString(payload) + '.' + ENCODER.encodeToString(sign(payload));
+    }
+
+    /**
+     * @return the position of the token, or {@code null} when the token is {@code null} or empty (first page)
+     * @throws InputValidationException when the token is malformed or its signature does not match
+     */
+    public String decode(String cursor) {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+
+        final int separator = cursor.indexOf('.');
+        if (separator < 0) {
+            throw new InputValidationException(INVALID_CURSOR);
+        }
+
+        final byte[] payload;
+        final byte[] signature;
+        try {
+            payload = DECODER.decode(cursor.substring(0, separator));
+            signature = DECODER.decode(cursor.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            throw new InputValidationException(INVALID_CURSOR);
+        }
+
+        if (!MessageDigest.isEqual(sign(payload), signature)) {
+            throw new InputValidationException(INVALID_CURSOR);
+        }
+        return new String(payload, StandardCharsets.UTF_8);
+    }
+
+    private byte[] sign(byte[] payload) {
+        return Arrays.copyOf(mac.get().doFinal(payload), SIGNATURE_LENGTH);
+    }
+
+    private static byte[] randomKey() {
+        final byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return key;
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.ws.rs.core.EntityTag;
+
+/**
+ * Caches the {@link EntityTag} of entities by key, so a conditional request on an unchanged entity is answered without
+ * loading or serializing it. Owners must {@link #invalidate(Object)} the key whenever the entity changes. Once
+ * {@code maxEntries} keys are cached, tags for new keys are computed but not stored.
+ */
+public class EntityTagCache {
+
+    public static final int DEFAULT_MAX_ENTRIES = 1024;
+
+    private final Map<Object, EntityTag> tags = new ConcurrentHashMap<>();
+    private final int maxEntries;
+
+    public EntityTagCache() {
+        this(DEFAULT_MAX_ENTRIES);
+    }
+
+    public EntityTagCache(int maxEntries) {
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * @return the cached tag of the key, or {@code null} when not cached
+     */
+    public EntityTag get(Object key) {
+        return tags.get(key);
+    }
+
+    /**
+     * Computes the tag of the entity with {@link EntityTagGenerator} and caches it under the key.
+     *
+     * @return the tag, or {@code null} when the entity has none
+     */
+    public EntityTag put(Object key, Object entity) {
+        final EntityTag tag = EntityTagGenerator.generate(entity);
+        if (tag != null && (tags.size() < maxEntries || tags.containsKey(key))) {
+            tags.put(key, tag);
+        }
+        return tag;
+    }
+
+    public void invalidate(Object key) {
+        tags.remove(key);
+    }
+
+    public void invalidateAll() {
+        tags.clear();
+    }
+
+    public int size() {
+        return tags.size();
+    }
+}
@@ -0,0 +1,132 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.security.DigestOutputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
+
+import javax.ws.rs.core.EntityTag;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.github.cornerstonews.webservice.provider.ObjectMapperProvider;
+
+/**
+ * Computes weak entity tags from the SHA-256 digest of the entity serialized with Jackson, streamed straight into the
+ * digest. The mapper has the settings of {@link ObjectMapperProvider}, so JAXB annotated fields are part of the digest.
+ * Entities implementing {@link VersionedEntity} use their version instead. When an entity cannot be serialized, a tag
+ * from its {@link Object#hashCode()} is returned, and entities serialized as an empty object get no tag at all since
+ * their content is not covered by the digest.
+ * <p>
+ * The tags are weak because the digest is not taken over the bytes sent: the JSON, XML, CBOR and compressed
+ * representations of an entity all get the same tag, which {@code EntityTagVariantFilter} qualifies with the media
+ * type and content coding of the response.
+ */
+public class EntityTagGenerator {
+
+    private static final Logger log = LogManager.getLogger(EntityTagGenerator.class);
+
+    private static final ObjectWriter WRITER = ObjectMapperProvider.configure(JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build())
+            .writer();
+
+    private static final byte[] EMPTY_OBJECT = { '{', '}' };
+
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+
+    private static final ThreadLocal<MessageDigest> DIGEST = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    });
+
+    private EntityTagGenerator() {
+    }
+
+    /**
+     * @return the weak tag of the entity, or {@code null} when it serializes to an empty object
+     */
+    public static EntityTag generate(Object entity) {
+        if (entity instanceof VersionedEntity) {
+            return new EntityTag(((VersionedEntity) entity).getEntityVersion(), true);
+        }
+
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        final EmptyObjectDetector detector = new EmptyObjectDetector();
+        try (DigestOutputStream out = new DigestOutputStream(detector, digest)) {
+            WRITER.writeValue(out, entity);
+        } catch (IOException | RuntimeException e) {
+            log.debug("Could not serialize '{}' for entity tag, using weak hash code tag. Error: {}", entity.getClass().getName(), e.getMessage());
+            return new EntityTag(Integer.toString(entity.hashCode()), true);
+        }
+        if (detector.isEmptyObject()) {
+            log.debug("'{}' serializes to an empty object, no entity tag is generated.", entity.getClass().getName());
+            return null;
+        }
+        return new EntityTag(ENCODER.encodeToString(digest.digest()), true);
+    }
+
+    /**
+     * @return a weak tag from the digest of already serialized content
+     */
+    public static EntityTag generate(byte[] content) {
+        final MessageDigest digest = DIGEST.get();
+        digest.reset();
+        return new EntityTag(ENCODER.encodeToString(digest.digest(content)), true);
+    }
+
+    /*
+     * Discards the serialized bytes, remembering only whether they were exactly "{}"
+     */
+    private static final class EmptyObjectDetector extends OutputStream {
+
+        private long count;
+        private boolean matches = true;
+
+        @Override
+        public void write(int b) {
+            matches &= count < EMPTY_OBJECT.length && EMPTY_OBJECT[(int) count] == (byte) b;
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            for (int i = 0; i < len && matches; i++) {
+                matches = count + i < EMPTY_OBJECT.length && EMPTY_OBJECT[(int) (count + i)] == b[off + i];
+            }
+            count += len;
+        }
+
+        boolean isEmptyObject() {
+            return matches && count == EMPTY_OBJECT.length;
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+import javax.ws.rs.core.Response.Status;
+
+import com.github.cornerstonews.webservice.provider.ByteRange;
+import com.github.cornerstonews.webservice.provider.FileRegion;
+import com.github.cornerstonews.webservice.provider.FileRegionMessageBodyWriter;
+
+/**
+ * Builds file download responses written by {@link FileRegionMessageBodyWriter}, which streams the file in chunks
+ * rather than loading it into memory. The response is validated on a strong tag derived from the file size and modification time and on the
+ * {@code Last-Modified} date, like {@link WSResponse}, and {@code Range} requests are answered with 206 partial
+ * content, a {@code multipart/byteranges} body for several ranges, or 416 when no range is satisfiable. A range is
+ * only honored when the {@code If-Range} validator, if any, still matches the file, so a resumed download never mixes
+ * bytes of two versions.
+ */
+public class FileResponse {
+
+    public static final String ACCEPT_RANGES = "Accept-Ranges";
+    public static final String CONTENT_RANGE = "Content-Range";
+    public static final String RANGE = "Range";
+    public static final String IF_RANGE = "If-Range";
+
+    private static final String BYTES = "bytes";
+    private static final String MULTIPART_BYTERANGES = "multipart/byteranges";
+
+    private FileResponse() {
+        throw new IllegalStateException("FileResponse class");
+    }
+
+    public static ResponseBuilder file(Request request, HttpHeaders headers, Path file, MediaType type) throws IOException {
+        return file(request, headers, file, type, null);
+    }
+
+    public static ResponseBuilder file(Request request, HttpHeaders headers, Path file, MediaType type, CacheControl cacheControl)
+            throws IOException {
+        final BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        final long length = attributes.size();
+        // HTTP dates have a one second precision
+        final long modified = attributes.lastModifiedTime().toMillis() / 1000 * 1000;
+        final Date lastModified = new Date(modified);
+        final EntityTag tag = new EntityTag(Long.toHexString(length) + '-' + Long.toHexString(modified));
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(lastModified, tag);
+        if (notModified != null) {
+            return notModified.tag(tag).lastModified(lastModified).cacheControl(cacheControl).header(ACCEPT_RANGES, BYTES);
+        }
+
+        final List<ByteRange> ranges = HttpMethod.GET.equals(request.getMethod())
+                && ifRangeMatches(headers.getHeaderString(IF_RANGE), tag, modified)
+                        ? ByteRange.parse(headers.getHeaderString(RANGE), length)
+                        : null;
+
+        final ResponseBuilder builder;
+        if (ranges == null) {
+            builder = Response.ok(new FileRegion(file, length), type)
+                    .header(HttpHeaders.CONTENT_LENGTH, length);
+        } else if (ranges.isEmpty()) {
+            return Response.status(Status.REQUESTED_RANGE_NOT_SATISFIABLE)
+                    .header(CONTENT_RANGE, BYTES + " */" + length)
+                    .header(ACCEPT_RANGES, BYTES);
+        } else if (ranges.size() == 1) {
+            final ByteRange range = ranges.get(0);
+            builder = Response.status(Status.PARTIAL_CONTENT)
+                    .entity(new FileRegion(file, length, ranges, null, null))
+                    .type(type)
+                    .header(CONTENT_RANGE, range.toContentRange(length))
+                    .header(HttpHeaders.CONTENT_LENGTH, range.getLength());
+        } else {
+            final String boundary = UUID.randomUUID().toString().replace("-", "");
+            builder = Response.status(Status.PARTIAL_CONTENT)
+                    .entity(new FileRegion(file, length, ranges, type, boundary))
+                    .type(MULTIPART_BYTERANGES + "; boundary=" + boundary);
+        }
+
+        return builder.tag(tag).lastModified(lastModified).cacheControl(cacheControl).header(ACCEPT_RANGES, BYTES);
+    }
+
+    /*
+     * If-Range holds either an entity tag, compared strongly, or the exact Last-Modified date
+     */
+    static boolean ifRangeMatches(String ifRange, EntityTag tag, long lastModified) {
+        if (ifRange == null) {
+            return true;
+        }
+
+        final String value = ifRange.trim();
+        if (value.startsWith("\"")) {
+            return value.equals('"' + tag.getValue() + '"');
+        }
+        if (value.startsWith("W/")) {
+            return false;
+        }
+
+        try {
+            return ZonedDateTime.parse(value, DateTimeFormatter.RFC_1123_DATE_TIME).toInstant().toEpochMilli() == lastModified;
+        } catch (DateTimeParseException e) {
+            return false;
+        }
+    }
+}
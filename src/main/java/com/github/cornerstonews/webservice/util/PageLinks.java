@@ -0,0 +1,54 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.ws.rs.core.Link;
+import javax.ws.rs.core.UriInfo;
+
+import com.github.cornerstonews.webservice.model.CursorPagedDataObject;
+
+/**
+ * Builds RFC 8288 {@code Link} headers for cursor paged responses, to be added with
+ * {@link javax.ws.rs.core.Response.ResponseBuilder#links(Link...)}.
+ */
+public class PageLinks {
+
+    public static final String NEXT = "next";
+    public static final String PREVIOUS = "prev";
+
+    private PageLinks() {
+    }
+
+    /**
+     * @param uriInfo         request URI, all its query parameters are kept
+     * @param cursorParameter name of the query parameter carrying the cursor
+     */
+    public static Link[] cursorLinks(UriInfo uriInfo, String cursorParameter, CursorPagedDataObject<?> page) {
+        final List<Link> links = new ArrayList<>(2);
+        if (page.getNextCursor() != null) {
+            links.add(Link.fromUriBuilder(uriInfo.getRequestUriBuilder().replaceQueryParam(cursorParameter, page.getNextCursor())).rel(NEXT).build());
+        }
+        if (page.getPreviousCursor() != null) {
+            links.add(Link.fromUriBuilder(uriInfo.getRequestUriBuilder().replaceQueryParam(cursorParameter, page.getPreviousCursor())).rel(PREVIOUS)
+                    .build());
+        }
+        return links.toArray(new Link[links.size()]);
+    }
+}
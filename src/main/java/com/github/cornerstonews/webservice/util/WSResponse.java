@@ -16,11 +16,15 @@
  */
 package com.github.cornerstonews.webservice.util;
 
+import java.util.Date;
+import java.util.function.Supplier;
+
+import javax.ws.rs.core.CacheControl;
 import javax.ws.rs.core.EntityTag;
 import javax.ws.rs.core.Request;
 import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
 import javax.ws.rs.core.Response.Status;
-import javax.ws.rs.core.Response.StatusType;
 
 import com.github.cornerstonews.webservice.exception.NotModifiedException;
 
@@ -29,24 +33,110 @@ public class WSResponse {
     private WSResponse() {
         throw new IllegalStateException("WSResponse class");
     }
-    
+
+    /**
+     * Kept for compatibility, a matching precondition is no longer thrown as {@link NotModifiedException} but
+     * returned as a bodiless 304 response, see {@link #conditional(Request, Object, Status)}.
+     */
     public static Response response(Request request, Object entity, Status status) throws NotModifiedException {
+        return conditional(request, entity, status).build();
+    }
+
+    /**
+     * Returns a builder for the given entity tagged with the weak {@link EntityTag} computed by
+     * {@link EntityTagGenerator}.
+     * When the request preconditions match the tag, the builder returned by
+     * {@link Request#evaluatePreconditions(EntityTag)} is returned instead, carrying the 304 (or 412) status and the
+     * ETag header but no entity.
+     */
+    public static ResponseBuilder conditional(Request request, Object entity, Status status) {
+        return conditional(request, entity, status, null);
+    }
+
+    /**
+     * Same as {@link #conditional(Request, Object, Status)}, with the given {@link CacheControl} set on both the full
+     * and the not modified response.
+     */
+    public static ResponseBuilder conditional(Request request, Object entity, Status status, CacheControl cacheControl) {
+        if (entity == null) {
+            return Response.status(status).cacheControl(cacheControl);
+        }
 
-        Response.ResponseBuilder response = null;
-        EntityTag tag = null;
+        return conditional(request, EntityTagGenerator.generate(entity), entity, status, cacheControl);
+    }
+
+    /**
+     * Conditional response validated on both the {@code lastModified} date and the entity tag through
+     * {@link Request#evaluatePreconditions(Date, EntityTag)}. The {@code Last-Modified} header is set on both the full
+     * and the not modified response.
+     */
+    public static ResponseBuilder conditional(Request request, Date lastModified, Object entity, Status status, CacheControl cacheControl) {
+        if (entity == null) {
+            return Response.status(status).lastModified(lastModified).cacheControl(cacheControl);
+        }
 
-        if (entity != null) {
-            tag = new EntityTag(Integer.toString(entity.hashCode()));
+        final EntityTag tag = EntityTagGenerator.generate(entity);
+        final ResponseBuilder notModified = tag == null ? request.evaluatePreconditions(lastModified)
+                : request.evaluatePreconditions(lastModified, tag);
+        if (notModified != null) {
+            return notModified.tag(tag).lastModified(lastModified).cacheControl(cacheControl);
+        }
 
-            response = request.evaluatePreconditions(tag);
-            if (response != null) {
-                StatusType statusInfo = response.build().getStatusInfo();
-                String responseString = "HTTP " + statusInfo.getStatusCode() + ' ' + statusInfo.getReasonPhrase();
-                throw new NotModifiedException(responseString);
+        return Response.status(status).entity(entity).tag(tag).lastModified(lastModified).cacheControl(cacheControl);
+    }
+
+    /**
+     * Conditional response validated on the {@code lastModified} date only, without serializing the entity. The
+     * entity is loaded from the supplier only when the client copy is stale.
+     */
+    public static ResponseBuilder conditional(Request request, Date lastModified, Supplier<?> entity, Status status) {
+        final ResponseBuilder notModified = request.evaluatePreconditions(lastModified);
+        if (notModified != null) {
+            return notModified.lastModified(lastModified);
+        }
+
+        return Response.status(status).entity(entity.get()).lastModified(lastModified);
+    }
+
+    /**
+     * Conditional response using the tag cached under {@code key}. The entity is only loaded from the supplier when
+     * the tag is not cached yet or the preconditions do not match, so a not modified response skips loading and
+     * serializing it.
+     */
+    public static ResponseBuilder conditional(Request request, EntityTagCache cache, Object key, Supplier<?> entity, Status status) {
+        return conditional(request, cache, key, entity, status, null);
+    }
+
+    public static ResponseBuilder conditional(Request request, EntityTagCache cache, Object key, Supplier<?> entity, Status status,
+            CacheControl cacheControl) {
+        EntityTag tag = cache.get(key);
+        if (tag != null) {
+            final ResponseBuilder notModified = request.evaluatePreconditions(tag);
+            if (notModified != null) {
+                return notModified.tag(tag).cacheControl(cacheControl);
             }
+            return Response.status(status).entity(entity.get()).tag(tag).cacheControl(cacheControl);
+        }
+
+        final Object value = entity.get();
+        if (value == null) {
+            return Response.status(status).cacheControl(cacheControl);
+        }
+
+        return conditional(request, cache.put(key, value), value, status, cacheControl);
+    }
+
+    private static ResponseBuilder conditional(Request request, EntityTag tag, Object entity, Status status, CacheControl cacheControl) {
+        if (tag == null) {
+            // nothing to validate against, see EntityTagGenerator
+            return Response.status(status).entity(entity).cacheControl(cacheControl);
+        }
+
+        final ResponseBuilder notModified = request.evaluatePreconditions(tag);
+        if (notModified != null) {
+            return notModified.tag(tag).cacheControl(cacheControl);
         }
 
-        response = Response.status(status).entity(entity);
-        return response.tag(tag).build();
+        return Response.status(status).entity(entity).tag(tag).cacheControl(cacheControl);
     }
 }
@@ -0,0 +1,60 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Collections;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+
+public class CORSFilterTest {
+
+    // Response as replayed from a cache, with the headers computed for another origin
+    @Path("replayed")
+    public static class ReplayedResource {
+        @GET
+        public Response get() {
+            return Response.ok("value").header("Access-Control-Allow-Origin", "https://a.example.com").header(HttpHeaders.VARY, "Origin").build();
+        }
+    }
+
+    @Test
+    public void testOriginRecomputedForReplayedResponse() throws Exception {
+        BaseWebserviceConfig.CORSFilter config = new BaseWebserviceConfig.CORSFilter();
+        config.setOrigin("https://a.example.com, https://b.example.com");
+        ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(ReplayedResource.class).register(new CORSFilter(config)));
+
+        ContainerRequest request = TestRequests.request(handler, "GET", "replayed");
+        request.header("Origin", "https://b.example.com");
+        ContainerResponse response = TestRequests.apply(handler, request);
+
+        assertEquals(Collections.singletonList("https://b.example.com"), response.getHeaders().get("Access-Control-Allow-Origin"));
+        assertEquals(Collections.singletonList("Origin"), response.getHeaders().get(HttpHeaders.VARY));
+    }
+}
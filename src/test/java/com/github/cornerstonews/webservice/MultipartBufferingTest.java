@@ -0,0 +1,84 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.stream.Stream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.media.multipart.FormDataMultiPart;
+import org.glassfish.jersey.media.multipart.MultiPartFeature;
+import org.glassfish.jersey.media.multipart.MultiPartProperties;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+public class MultipartBufferingTest {
+
+    @TempDir
+    static Path tempDir;
+
+    @javax.ws.rs.Path("upload")
+    public static class UploadResource {
+        @POST
+        @Consumes(MediaType.MULTIPART_FORM_DATA)
+        public String upload(FormDataMultiPart multiPart) throws IOException {
+            // Parts above the threshold are held in temporary files until the multipart is cleaned up
+            try (Stream<Path> files = Files.list(tempDir)) {
+                return String.valueOf(files.count());
+            }
+        }
+    }
+
+    private static String upload(int partSize) throws Exception {
+        ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(UploadResource.class)
+                .register(MultiPartFeature.class)
+                .register(new MultiPartProperties().bufferThreshold(1024).tempDir(tempDir.toString()).resolver()));
+
+        char[] part = new char[partSize];
+        Arrays.fill(part, 'x');
+        String body = "--b1\r\nContent-Disposition: form-data; name=\"file\"\r\n\r\n" + new String(part) + "\r\n--b1--\r\n";
+        ContainerRequest request = TestRequests.request(handler, "POST", "upload");
+        request.header("Content-Type", "multipart/form-data; boundary=b1");
+        request.setEntityStream(new ByteArrayInputStream(body.getBytes(StandardCharsets.UTF_8)));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContainerResponse response = TestRequests.apply(handler, request, out);
+        assertEquals(200, response.getStatus());
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    public void testLargePartBufferedToFile() throws Exception {
+        assertEquals("0", upload(512));
+        assertTrue(Integer.parseInt(upload(64 * 1024)) > 0);
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.junit.jupiter.api.Test;
+
+public class ResourceModelCacheTest {
+
+    @Path("root")
+    public static class RootResource {
+        @GET
+        public String get() {
+            return "root";
+        }
+
+        @Path("sub")
+        public SubResource sub() {
+            return new SubResource();
+        }
+    }
+
+    public static class SubResource {
+        @GET
+        @Path("leaf")
+        public String leaf() {
+            return "leaf";
+        }
+    }
+
+    @Test
+    public void testIntrospectionIsCached() {
+        final ResourceModelCache cache = new ResourceModelCache();
+        cache.introspect(Arrays.asList(RootResource.class, String.class));
+
+        assertNotNull(cache.get(RootResource.class));
+        assertSame(cache.get(RootResource.class), cache.get(RootResource.class));
+        assertNull(cache.get(String.class));
+    }
+
+    @Test
+    public void testEndpointsUseCachedModels() {
+        final ResourceModelCache cache = new ResourceModelCache();
+        cache.introspect(Collections.singleton(RootResource.class));
+
+        final String endpoints = new WebserviceEnpointLogger(cache).getEndpointsInfo(new HashSet<>(Arrays.asList(RootResource.class)),
+                Collections.emptySet());
+        assertTrue(endpoints.contains("/root/sub/leaf"), endpoints);
+    }
+}
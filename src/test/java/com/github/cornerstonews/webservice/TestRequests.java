@@ -0,0 +1,65 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice;
+
+import java.io.ByteArrayOutputStream;
+import java.io.OutputStream;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.SecurityContext;
+
+import org.glassfish.jersey.internal.MapPropertiesDelegate;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+
+/**
+ * Builds requests for an in memory {@link ApplicationHandler} and runs them, so tests exercise the full Jersey
+ * request processing without a container.
+ */
+public final class TestRequests {
+
+    private static final URI BASE_URI = URI.create("http://localhost/");
+
+    private TestRequests() {
+    }
+
+    /**
+     * @param handler the application the request is for, or {@code null} for a request used outside of Jersey
+     * @param path    relative to the base URI {@code http://localhost/}
+     */
+    public static ContainerRequest request(ApplicationHandler handler, String method, String path) {
+        return request(handler, method, path, null);
+    }
+
+    public static ContainerRequest request(ApplicationHandler handler, String method, String path, SecurityContext securityContext) {
+        return new ContainerRequest(BASE_URI, BASE_URI.resolve(path), method, securityContext, new MapPropertiesDelegate(),
+                handler == null ? null : handler.getConfiguration());
+    }
+
+    public static ContainerResponse apply(ApplicationHandler handler, ContainerRequest request) throws Exception {
+        return apply(handler, request, new ByteArrayOutputStream());
+    }
+
+    /**
+     * @param out receives the response entity
+     */
+    public static ContainerResponse apply(ApplicationHandler handler, ContainerRequest request, OutputStream out) throws Exception {
+        return handler.apply(request, out).get(30, TimeUnit.SECONDS);
+    }
+}
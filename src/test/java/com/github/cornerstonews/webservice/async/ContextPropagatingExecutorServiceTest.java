@@ -0,0 +1,68 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.apache.logging.log4j.ThreadContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.MetricRegistry;
+
+public class ContextPropagatingExecutorServiceTest {
+
+    private final MetricRegistry metricRegistry = new MetricRegistry();
+
+    private final ExecutorService executor = new ContextPropagatingExecutorService(Executors.newSingleThreadExecutor(), metricRegistry, "test");
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        ThreadContext.clearAll();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testThreadContextPropagated() throws Exception {
+        ThreadContext.put("requestId", "42");
+        ThreadContext.push("outer");
+
+        assertEquals("42 outer", executor.submit(() -> ThreadContext.get("requestId") + " " + ThreadContext.peek()).get());
+
+        ThreadContext.clearAll();
+        assertNull(executor.submit(() -> ThreadContext.get("requestId")).get());
+    }
+
+    @Test
+    public void testMetrics() throws Exception {
+        executor.submit(() -> {
+        }).get();
+        // the task future completes before the timers are stopped
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+
+        assertEquals(1, metricRegistry.timer("test.execution").getCount());
+        assertEquals(1, metricRegistry.timer("test.waiting").getCount());
+        assertEquals(0, metricRegistry.counter("test.active").getCount());
+    }
+}
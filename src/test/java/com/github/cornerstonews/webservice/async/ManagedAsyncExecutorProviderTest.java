@@ -0,0 +1,95 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ManagedAsync;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.exception.ExecutorRejectedException;
+
+public class ManagedAsyncExecutorProviderTest {
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    private final ExecutorService executor = ManagedAsyncExecutorProvider.newPlatformThreadPool(1, 1);
+
+    @Path("async")
+    public static class AsyncResource {
+        @GET
+        @ManagedAsync
+        public String get() {
+            return "done";
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws InterruptedException {
+        release.countDown();
+        executor.shutdown();
+        executor.awaitTermination(5, TimeUnit.SECONDS);
+    }
+
+    private void saturate(ExecutorService target) {
+        // one task running, one waiting in the queue
+        for (int i = 0; i < 2; i++) {
+            target.execute(() -> {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            });
+        }
+    }
+
+    @Test
+    public void testQueueBounded() {
+        saturate(executor);
+        assertThrows(ExecutorRejectedException.class, () -> executor.execute(() -> {
+        }));
+    }
+
+    @Test
+    public void testRejectedRequestAnsweredWithServiceUnavailable() throws Exception {
+        ExecutorService propagating = new ContextPropagatingExecutorService(executor, new MetricRegistry(), "test");
+        ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(AsyncResource.class)
+                .register(new ManagedAsyncExecutorProvider(propagating)));
+        saturate(propagating);
+
+        ContainerRequest request = TestRequests.request(handler, "GET", "async");
+        ContainerResponse response = TestRequests.apply(handler, request);
+
+        assertEquals(503, response.getStatus());
+    }
+}
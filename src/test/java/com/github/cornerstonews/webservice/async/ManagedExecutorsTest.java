@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.async;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.MetricsRegistryFeature;
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+import com.github.cornerstonews.webservice.exception.AsyncTimeoutException;
+import com.github.cornerstonews.webservice.exception.ExecutorRejectedException;
+
+public class ManagedExecutorsTest {
+
+    private final MetricsRegistryFeature metrics = new MetricsRegistryFeature();
+
+    private final ManagedExecutors executors = new ManagedExecutors(Collections.singletonMap("db", config()), metrics);
+
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    public void tearDown() {
+        release.countDown();
+        executors.shutdown();
+    }
+
+    @Test
+    public void testSupplyAsync() throws Exception {
+        assertEquals("ok", executors.get("db").supplyAsync(() -> "ok").toCompletableFuture().get(5, TimeUnit.SECONDS));
+        assertThrows(IllegalArgumentException.class, () -> executors.get("unknown"));
+    }
+
+    @Test
+    public void testTimeout() {
+        CompletableFuture<Object> result = executors.get("db").supplyAsync(this::block, 50, TimeUnit.MILLISECONDS).toCompletableFuture();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof AsyncTimeoutException);
+        assertEquals(1, metrics.getMetricRegistry().meter("executors.db.timeouts").getCount());
+    }
+
+    @Test
+    public void testRejected() {
+        executors.get("db").supplyAsync(this::block, 0, TimeUnit.SECONDS);
+        CompletableFuture<Object> result = executors.get("db").supplyAsync(this::block, 0, TimeUnit.SECONDS).toCompletableFuture();
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof ExecutorRejectedException);
+        assertEquals(1, metrics.getMetricRegistry().meter("executors.db.rejected").getCount());
+    }
+
+    private Object block() {
+        try {
+            release.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return null;
+    }
+
+    private static BaseWebserviceConfig.ManagedExecutor config() {
+        BaseWebserviceConfig.ManagedExecutor config = new BaseWebserviceConfig.ManagedExecutor();
+        config.setThreads(1);
+        config.setQueueSize(0);
+        return config;
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.authorization;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.github.cornerstonews.webservice.crypto.BCryptHashEncoderDecoder;
+import com.github.cornerstonews.webservice.jwt.JWTPrincipal;
+
+public class ApiKeyStoreTest {
+
+    private final static String SERVICE_KEY = "ApiKeyStoreTest-service-key";
+    private final static String BATCH_KEY = "ApiKeyStoreTest-batch-key";
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    public void authenticateTest() throws IOException {
+        Path keyFile = tempDir.resolve("api-keys");
+        Files.write(keyFile, Arrays.asList("# test keys", "service:" + BCryptHashEncoderDecoder.encode(SERVICE_KEY, 4) + ":monitor,reader"),
+                StandardCharsets.UTF_8);
+
+        ApiKeyStore store = new ApiKeyStore(keyFile, 60, 10, 0, 10, false);
+
+        JWTPrincipal principal = store.authenticate(SERVICE_KEY);
+        Assertions.assertNotNull(principal);
+        Assertions.assertEquals("service", principal.getName());
+        Assertions.assertTrue(principal.hasRole("monitor"));
+        Assertions.assertTrue(principal.hasRole("reader"));
+
+        // Served from the verified key cache
+        Assertions.assertSame(principal, store.authenticate(SERVICE_KEY));
+        Assertions.assertNull(store.authenticate(BATCH_KEY));
+    }
+
+    @Test
+    public void reloadTest() throws IOException {
+        Path keyFile = tempDir.resolve("api-keys");
+        Files.write(keyFile, Arrays.asList("service:" + BCryptHashEncoderDecoder.encode(SERVICE_KEY, 4)), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(1000));
+
+        ApiKeyStore store = new ApiKeyStore(keyFile, 60, 10, 0, 10, false);
+        Assertions.assertNotNull(store.authenticate(SERVICE_KEY));
+        Assertions.assertNull(store.authenticate(BATCH_KEY));
+
+        Files.write(keyFile, Arrays.asList("batch:" + BCryptHashEncoderDecoder.encode(BATCH_KEY, 4) + ":writer"), StandardCharsets.UTF_8);
+        Files.setLastModifiedTime(keyFile, FileTime.fromMillis(2000));
+
+        Assertions.assertNull(store.authenticate(SERVICE_KEY));
+        JWTPrincipal principal = store.authenticate(BATCH_KEY);
+        Assertions.assertNotNull(principal);
+        Assertions.assertTrue(principal.hasRole("writer"));
+    }
+
+    @Test
+    public void keyIdTest() throws IOException {
+        String indexedKey = "batch.ApiKeyStoreTest-secret";
+        Path keyFile = tempDir.resolve("api-keys");
+        Files.write(keyFile, Arrays.asList("service:" + BCryptHashEncoderDecoder.encode(SERVICE_KEY, 4),
+                "batch:" + BCryptHashEncoderDecoder.encode(indexedKey, 4) + ":writer"), StandardCharsets.UTF_8);
+
+        // Key ids are required by default
+        ApiKeyStore store = new ApiKeyStore(keyFile, 60, 10, 0);
+        Assertions.assertEquals("batch", store.authenticate(indexedKey).getName());
+        Assertions.assertNull(store.authenticate("service.ApiKeyStoreTest-secret"));
+
+        // Keys without a key id are rejected when it is required
+        Assertions.assertNull(store.authenticate(SERVICE_KEY));
+        Assertions.assertNotNull(new ApiKeyStore(keyFile, 60, 10, 0, 10, false).authenticate(SERVICE_KEY));
+    }
+
+    @Test
+    public void evictionTest() throws IOException {
+        String otherKey = "ApiKeyStoreTest-other-key";
+        Path keyFile = tempDir.resolve("api-keys");
+        Files.write(keyFile, Arrays.asList("service:" + BCryptHashEncoderDecoder.encode(SERVICE_KEY, 4),
+                "batch:" + BCryptHashEncoderDecoder.encode(BATCH_KEY, 4), "other:" + BCryptHashEncoderDecoder.encode(otherKey, 4)),
+                StandardCharsets.UTF_8);
+
+        ApiKeyStore store = new ApiKeyStore(keyFile, 60, 2, 0, 10, false);
+        JWTPrincipal service = store.authenticate(SERVICE_KEY);
+        JWTPrincipal batch = store.authenticate(BATCH_KEY);
+        Assertions.assertSame(service, store.authenticate(SERVICE_KEY));
+
+        // The least recently used key is evicted, the others stay cached
+        store.authenticate(otherKey);
+        Assertions.assertSame(service, store.authenticate(SERVICE_KEY));
+        Assertions.assertNotSame(batch, store.authenticate(BATCH_KEY));
+    }
+}
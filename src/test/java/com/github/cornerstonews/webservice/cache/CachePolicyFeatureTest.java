@@ -0,0 +1,47 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class CachePolicyFeatureTest {
+
+    @CachePolicy(noCache = true, noStore = true, mustRevalidate = true)
+    public void noStore() {
+    }
+
+    @CachePolicy(privateCache = true, maxAge = 60, sMaxAge = 300, staleWhileRevalidate = 30)
+    public void shared() {
+    }
+
+    @CachePolicy
+    public void empty() {
+    }
+
+    private static CachePolicy policy(String method) throws NoSuchMethodException {
+        return CachePolicyFeatureTest.class.getMethod(method).getAnnotation(CachePolicy.class);
+    }
+
+    @Test
+    public void testHeaderValue() throws Exception {
+        assertEquals("no-cache, no-store, must-revalidate", CachePolicyFeature.toHeaderValue(policy("noStore")));
+        assertEquals("private, max-age=60, s-maxage=300, stale-while-revalidate=30", CachePolicyFeature.toHeaderValue(policy("shared")));
+        assertEquals("", CachePolicyFeature.toHeaderValue(policy("empty")));
+    }
+}
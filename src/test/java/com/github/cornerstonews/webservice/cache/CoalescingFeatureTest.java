@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import com.codahale.metrics.MetricRegistry;
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.cache.ResponseCached.VaryBy;
+
+public class CoalescingFeatureTest {
+
+    private static final AtomicInteger calls = new AtomicInteger();
+    private static final CountDownLatch release = new CountDownLatch(1);
+
+    @Path("coalesced")
+    public static class CoalescedResource {
+
+        @GET
+        @Produces("text/plain")
+        @Coalesced(varyBy = VaryBy.NONE)
+        public String get() throws InterruptedException {
+            calls.incrementAndGet();
+            release.await(5, TimeUnit.SECONDS);
+            return "value";
+        }
+    }
+
+    @Test
+    public void testConcurrentRequestsShareOneExecution() throws Exception {
+        final MetricRegistry metricRegistry = new MetricRegistry();
+        final CoalescingFeature feature = new CoalescingFeature(metricRegistry);
+        final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(CoalescedResource.class).register(feature));
+
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(executor.submit(() -> get(handler)));
+            }
+            while (metricRegistry.meter("com.github.cornerstonews.webservice.cache.CoalescingFeatureTest$CoalescedResource.get.coalescing.executed").getCount() == 0) {
+                Thread.sleep(10);
+            }
+            // let the other requests reach the in-flight execution
+            Thread.sleep(500);
+            release.countDown();
+
+            for (Future<String> response : responses) {
+                assertEquals("200 value", response.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(1, calls.get());
+        assertEquals(0, feature.getInFlight());
+    }
+
+    private static String get(ApplicationHandler handler) throws Exception {
+        final ContainerRequest request = TestRequests.request(handler, "GET", "coalesced");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        final ContainerResponse response = TestRequests.apply(handler, request, out);
+        return response.getStatus() + " " + out.toString("UTF-8");
+    }
+}
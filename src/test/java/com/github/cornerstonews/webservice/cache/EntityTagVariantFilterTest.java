@@ -0,0 +1,111 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.encoding.CompressionWriterInterceptor;
+import com.github.cornerstonews.webservice.util.WSResponse;
+
+public class EntityTagVariantFilterTest {
+
+    @Path("tagged")
+    public static class TaggedResource {
+        @GET
+        @Produces({ MediaType.APPLICATION_JSON, MediaType.TEXT_PLAIN })
+        public Response get(@Context Request request) {
+            return WSResponse.conditional(request, "{\"value\":1}", Status.OK).build();
+        }
+    }
+
+    private final ApplicationHandler handler = new ApplicationHandler(
+            new ResourceConfig(TaggedResource.class, EntityTagVariantFilter.class).register(new CompressionWriterInterceptor(6, 0)));
+
+    @Test
+    public void testTagPerRepresentation() throws Exception {
+        String json = get(MediaType.APPLICATION_JSON, null, null).getHeaderString(HttpHeaders.ETAG);
+        String text = get(MediaType.TEXT_PLAIN, null, null).getHeaderString(HttpHeaders.ETAG);
+        String gzip = get(MediaType.APPLICATION_JSON, "gzip", null).getHeaderString(HttpHeaders.ETAG);
+
+        assertEquals(json.substring(0, json.length() - 1) + ";gzip\"", gzip);
+        assertNotEquals(json, text);
+        assertEquals("W/", json.substring(0, 2));
+    }
+
+    @Test
+    public void testNotModifiedKeepsQualifiedTag() throws Exception {
+        String gzip = get(MediaType.APPLICATION_JSON, "gzip", null).getHeaderString(HttpHeaders.ETAG);
+
+        ContainerResponse response = get(MediaType.APPLICATION_JSON, "gzip", gzip);
+        assertEquals(304, response.getStatus());
+        assertEquals(gzip, response.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    @Test
+    public void testTagOfOtherRepresentationNotMatched() throws Exception {
+        String json = get(MediaType.APPLICATION_JSON, null, null).getHeaderString(HttpHeaders.ETAG);
+        String gzip = get(MediaType.APPLICATION_JSON, "gzip", null).getHeaderString(HttpHeaders.ETAG);
+
+        // other media type, and a compressed copy for a client not accepting the coding
+        assertEquals(200, get(MediaType.TEXT_PLAIN, null, json).getStatus());
+        assertEquals(200, get(MediaType.APPLICATION_JSON, null, gzip).getStatus());
+        assertEquals(200, get(MediaType.APPLICATION_JSON, "deflate", gzip).getStatus());
+
+        // an identity copy is acceptable whatever the client accepts
+        assertEquals(304, get(MediaType.APPLICATION_JSON, "gzip", json).getStatus());
+    }
+
+    @Test
+    public void testNotModifiedCarriesMatchingQualifier() throws Exception {
+        String json = get(MediaType.APPLICATION_JSON, null, null).getHeaderString(HttpHeaders.ETAG);
+        String text = get(MediaType.TEXT_PLAIN, null, null).getHeaderString(HttpHeaders.ETAG);
+
+        ContainerResponse response = get(MediaType.TEXT_PLAIN, null, json + ", W/\"other;plain\", " + text);
+        assertEquals(304, response.getStatus());
+        assertEquals(text, response.getHeaderString(HttpHeaders.ETAG));
+    }
+
+    private ContainerResponse get(String accept, String acceptEncoding, String ifNoneMatch) throws Exception {
+        ContainerRequest request = TestRequests.request(handler, "GET", "tagged");
+        request.header(HttpHeaders.ACCEPT, accept);
+        if (acceptEncoding != null) {
+            request.header(HttpHeaders.ACCEPT_ENCODING, acceptEncoding);
+        }
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return TestRequests.apply(handler, request);
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.cache;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class ResponseCacheStoreTest {
+
+    private static CachedResponse response(int size) {
+        return new CachedResponse(200, new MultivaluedHashMap<>(), new byte[size], System.nanoTime() + TimeUnit.MINUTES.toNanos(1));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsedEntry() {
+        ResponseCacheStore store = new ResponseCacheStore(2, 1024, 1024);
+        store.put("a", response(1));
+        store.put("b", response(1));
+        store.get("a");
+        store.put("c", response(1));
+
+        assertNotNull(store.get("a"));
+        assertNull(store.get("b"));
+        assertNotNull(store.get("c"));
+    }
+
+    @Test
+    public void testBoundsTotalAndEntrySize() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 100, 60);
+        store.put("a", response(50));
+        store.put("b", response(40));
+        store.put("c", response(30));
+        store.put("d", response(61));
+
+        assertNull(store.get("a"));
+        assertNull(store.get("d"));
+        assertEquals(2, store.size());
+        assertEquals(70, store.sizeInBytes());
+    }
+
+    @Test
+    public void testExpiredEntriesAreNotReturned() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 100, 100);
+        store.put("a", new CachedResponse(200, new MultivaluedHashMap<>(), new byte[1], System.nanoTime() - 1));
+
+        assertNull(store.get("a"));
+        assertEquals(0, store.sizeInBytes());
+    }
+
+    @Test
+    public void testInvalidatePath() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 100, 100);
+        store.put("items|*/*", response(1));
+        store.put("items/1|*/*", response(1));
+        store.put("users|*/*", response(1));
+
+        store.invalidate("items");
+
+        assertEquals(1, store.size());
+        assertNotNull(store.get("users|*/*"));
+    }
+
+    @Test
+    public void testInvalidateMatchesPathSegments() {
+        ResponseCacheStore store = new ResponseCacheStore(10, 1024, 1024);
+        store.put("users/1|*/*", response(1));
+        store.put("users/1?fields=name|*/*", response(1));
+        store.put("users/1/roles|*/*", response(1));
+        store.put("users/10|*/*", response(1));
+        store.put("users/100|*/*", response(1));
+
+        store.invalidate("users/1");
+
+        assertEquals(2, store.size());
+        assertNotNull(store.get("users/10|*/*"));
+        assertNotNull(store.get("users/100|*/*"));
+    }
+}
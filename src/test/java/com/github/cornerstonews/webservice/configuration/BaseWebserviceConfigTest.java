@@ -0,0 +1,52 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.configuration;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class BaseWebserviceConfigTest {
+
+    @Test
+    public void uriAuthWhitelistedTest() {
+        BaseWebserviceConfig config = new BaseWebserviceConfig();
+        config.setAuthWhitelistedURIs(Arrays.asList("/public/*", "status", "docs/v1.0/*"));
+
+        Assertions.assertTrue(config.isUriAuthWhitelisted("public/index"));
+        Assertions.assertTrue(config.isUriAuthWhitelisted("/public/a/b"));
+        Assertions.assertTrue(config.isUriAuthWhitelisted("status"));
+        Assertions.assertTrue(config.isUriAuthWhitelisted("docs/v1.0/api"));
+        Assertions.assertFalse(config.isUriAuthWhitelisted("docs/v1x0/api"));
+        Assertions.assertFalse(config.isUriAuthWhitelisted("private/index"));
+        Assertions.assertFalse(config.isUriAuthWhitelisted("statuses"));
+    }
+
+    @Test
+    public void uriAuthWhitelistedUpdatedTest() {
+        BaseWebserviceConfig config = new BaseWebserviceConfig();
+        Assertions.assertFalse(config.isUriAuthWhitelisted("public/index"));
+
+        config.setAuthWhitelistedURIs(Arrays.asList("public/*"));
+        Assertions.assertTrue(config.isUriAuthWhitelisted("public/index"));
+
+        config.setAuthWhitelistedURIs(Arrays.asList("open/*"));
+        Assertions.assertFalse(config.isUriAuthWhitelisted("public/index"));
+        Assertions.assertTrue(config.isUriAuthWhitelisted("open/index"));
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.encoding;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.GZIPInputStream;
+
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedHashMap;
+import javax.ws.rs.core.MultivaluedMap;
+
+import org.junit.jupiter.api.Test;
+
+public class ContentEncodingTest {
+
+    @Test
+    public void testNegotiate() {
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("gzip, deflate, br"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0.5, deflate"));
+        assertEquals(ContentEncoding.DEFLATE, ContentEncoding.negotiate("gzip;q=0, *"));
+        assertEquals(ContentEncoding.GZIP, ContentEncoding.negotiate("*"));
+        assertNull(ContentEncoding.negotiate("br, identity"));
+        assertNull(ContentEncoding.negotiate("*;q=0"));
+        assertNull(ContentEncoding.negotiate(null));
+    }
+
+    @Test
+    public void testBelowThresholdIsWrittenUncompressed() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicBoolean compressed = new AtomicBoolean();
+        ThresholdCompressingOutputStream stream = new ThresholdCompressingOutputStream(out, ContentEncoding.GZIP, 6, 16, () -> compressed.set(true));
+
+        stream.write("short".getBytes(StandardCharsets.UTF_8));
+        stream.flush();
+        stream.finish();
+
+        assertFalse(compressed.get());
+        assertEquals("short", out.toString("UTF-8"));
+    }
+
+    @Test
+    public void testAboveThresholdIsGzipped() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        AtomicBoolean compressed = new AtomicBoolean();
+        ThresholdCompressingOutputStream stream = new ThresholdCompressingOutputStream(out, ContentEncoding.GZIP, 9, 16, () -> compressed.set(true));
+
+        byte[] content = new byte[4096];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) ('a' + i % 3);
+        }
+        stream.write(content, 0, 10);
+        stream.write(content, 10, content.length - 10);
+        stream.finish();
+
+        assertTrue(compressed.get());
+        assertTrue(out.size() < content.length);
+
+        ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))) {
+            byte[] buffer = new byte[1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                inflated.write(buffer, 0, read);
+            }
+        }
+        assertArrayEquals(content, inflated.toByteArray());
+    }
+
+    @Test
+    public void testVaryIsAppended() {
+        MultivaluedMap<String, Object> headers = new MultivaluedHashMap<>();
+        headers.add(HttpHeaders.VARY, "Origin");
+
+        CompressionWriterInterceptor.addVary(headers);
+        CompressionWriterInterceptor.addVary(headers);
+
+        assertEquals(Arrays.asList("Origin", "Accept-Encoding"), headers.get(HttpHeaders.VARY));
+    }
+
+    @Test
+    public void testReleaseAfterFailedWrite() throws IOException {
+        ThresholdCompressingOutputStream out = new ThresholdCompressingOutputStream(new ByteArrayOutputStream(), ContentEncoding.GZIP, 6, 1, () -> {
+        });
+        out.write(new byte[16], 0, 16);
+        assertTrue(out.isCompressing());
+
+        // the write failed before finish(), the deflater must still be ended
+        out.release();
+        out.release();
+        assertThrows(NullPointerException.class, () -> out.write(new byte[16], 0, 16));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.exception.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.ResponseBuilder;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.model.WsError;
+
+public class AbstractExceptionMapperTest {
+
+    @Path("fail")
+    public static class FailingResource {
+        @GET
+        public String get() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    // Written against the API before the exception was passed to the mapper methods
+    @SuppressWarnings("deprecation")
+    public static class LegacyMapper extends AbstractExceptionMapper<IllegalStateException> {
+        @Override
+        protected ResponseBuilder getResponseBuilder(IllegalStateException exception) {
+            return getResponseBuilder();
+        }
+
+        @Override
+        protected ResponseBuilder getResponseBuilder() {
+            return Response.status(Response.Status.CONFLICT);
+        }
+
+        @Override
+        protected WsError getWsError() {
+            return new WsError("legacy " + this.exception.getMessage());
+        }
+    }
+
+    @Test
+    public void legacySubclassTest() throws Exception {
+        ApplicationHandler handler = new ApplicationHandler(
+                new ResourceConfig(FailingResource.class, LegacyMapper.class, WsErrorMessageBodyWriter.class));
+
+        ContainerRequest request = TestRequests.request(handler, "GET", "fail");
+        request.header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        ContainerResponse response = TestRequests.apply(handler, request, out);
+
+        Assertions.assertEquals(409, response.getStatus());
+        Assertions.assertTrue(new String(out.toByteArray(), StandardCharsets.UTF_8).contains("legacy broken"));
+    }
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.exception.mapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+import javax.ws.rs.core.MediaType;
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+import org.eclipse.persistence.jaxb.JAXBContextFactory;
+import org.eclipse.persistence.jaxb.MarshallerProperties;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.model.WsError;
+
+/*
+ * The hand written output must stay identical to what MOXy produced for WsError.
+ */
+public class WsErrorMessageBodyWriterTest {
+
+    private static final WsError[] ERRORS = new WsError[] {
+            new WsError("This request requires authentication."),
+            new WsError("Error processing your request.", "0f8fad5b-d9cb-469f-a165-70867728950e"),
+            new WsError("Quote \" backslash \\ slash / tab \t newline \n return \r bell \u0007 unicode é中"),
+            new WsError("Markup <a href=\"x\">&amp;</a> 'single'"),
+            new WsError(null, "ref"),
+            new WsError("", ""),
+            new WsError() };
+
+    private final WsErrorMessageBodyWriter writer = new WsErrorMessageBodyWriter();
+
+    @Test
+    public void jsonMatchesMoxyTest() throws Exception {
+        for (WsError error : ERRORS) {
+            Assertions.assertEquals(moxy(error, MediaType.APPLICATION_JSON_TYPE), write(error, MediaType.APPLICATION_JSON_TYPE));
+            Assertions.assertEquals(moxy(error, MediaType.WILDCARD_TYPE), write(error, MediaType.WILDCARD_TYPE));
+        }
+    }
+
+    @Test
+    public void xmlMatchesMoxyTest() throws Exception {
+        for (WsError error : ERRORS) {
+            Assertions.assertEquals(moxy(error, MediaType.APPLICATION_XML_TYPE), write(error, MediaType.APPLICATION_XML_TYPE));
+        }
+    }
+
+    @Test
+    public void textTest() throws Exception {
+        WsError error = new WsError("Error processing your request.", "ref");
+        Assertions.assertEquals(error.toString(), write(error, MediaType.TEXT_PLAIN_TYPE));
+    }
+
+    private String write(WsError error, MediaType mediaType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        writer.writeTo(error, WsError.class, WsError.class, null, mediaType, null, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    // Previous JAXB based implementation of WsErrorMessageBodyWriter
+    private String moxy(WsError error, MediaType mediaType) throws JAXBException {
+        JAXBContext jaxbContext = JAXBContextFactory.createContext(new Class<?>[] { WsError.class }, null);
+        Marshaller marshaller = jaxbContext.createMarshaller();
+        if (!MediaType.APPLICATION_XML_TYPE.equals(mediaType)) {
+            marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+            marshaller.setProperty(MarshallerProperties.MEDIA_TYPE, MediaType.APPLICATION_JSON);
+            marshaller.setProperty(MarshallerProperties.JSON_INCLUDE_ROOT, Boolean.FALSE);
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        marshaller.marshal(error, out);
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.jwt;
+
+import java.util.Arrays;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.authorization.RoleCheck;
+import com.github.cornerstonews.webservice.authorization.RoleRegistry;
+import com.github.cornerstonews.webservice.jwt.JWTAuthenticationFilter.JWTSecurityContext;
+
+public class JWTPrincipalTest {
+
+    @Test
+    public void hasRoleTest() {
+        RoleRegistry.register("principal-test-admin");
+        JWTPrincipal principal = new JWTPrincipal("user", Arrays.asList("principal-test-user", "principal-test-admin"));
+
+        Assertions.assertTrue(principal.hasRole("principal-test-admin"));
+        Assertions.assertTrue(principal.hasRole("principal-test-user"));
+        Assertions.assertTrue(principal.hasRole("*"));
+        Assertions.assertFalse(principal.hasRole("principal-test-monitor"));
+        Assertions.assertFalse(principal.hasRole(null));
+    }
+
+    @Test
+    public void roleRegisteredAfterPrincipalTest() {
+        JWTPrincipal principal = new JWTPrincipal("user", Arrays.asList("principal-test-late"));
+        RoleCheck check = RoleCheck.anyOf("principal-test-late");
+
+        Assertions.assertTrue(principal.hasRole("principal-test-late"));
+        Assertions.assertTrue(check.isSatisfiedBy(new JWTSecurityContext(principal, false)));
+    }
+
+    @Test
+    public void roleCheckTest() {
+        RoleCheck check = RoleCheck.anyOf("principal-test-admin", "principal-test-monitor");
+        JWTPrincipal monitor = new JWTPrincipal("monitor", Arrays.asList("principal-test-monitor"));
+        JWTPrincipal user = new JWTPrincipal("user", Arrays.asList("principal-test-user"));
+        JWTPrincipal none = new JWTPrincipal("none", null);
+
+        Assertions.assertTrue(check.isSatisfiedBy(new JWTSecurityContext(monitor, false)));
+        Assertions.assertFalse(check.isSatisfiedBy(new JWTSecurityContext(user, false)));
+        Assertions.assertFalse(check.isSatisfiedBy(new JWTSecurityContext(none, false)));
+        Assertions.assertFalse(RoleCheck.anyOf("").isSatisfiedBy(new JWTSecurityContext(monitor, false)));
+        Assertions.assertTrue(RoleCheck.anyOf("*").isSatisfiedBy(new JWTSecurityContext(user, false)));
+    }
+}
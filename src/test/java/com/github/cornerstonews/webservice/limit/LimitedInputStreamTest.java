@@ -0,0 +1,118 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.cbor.CBORGenerator;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+
+public class LimitedInputStreamTest {
+
+    private static final String MULTIPART = "--b1\r\nContent-Disposition: form-data; name=\"a\"\r\n\r\nfirst\r\n"
+            + "--b1\r\nContent-Disposition: form-data; name=\"b\"\r\n\r\nsecond part\r\n"
+            + "--b1--\r\n";
+
+    private static int readAll(InputStream in) throws IOException {
+        byte[] buffer = new byte[3];
+        int total = 0;
+        int read;
+        while ((read = in.read(buffer)) > 0) {
+            total += read;
+        }
+        return total;
+    }
+
+    private static InputStream stream(String content, long maxSize, EntityScanner... scanners) {
+        return new LimitedInputStream(new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), maxSize, scanners);
+    }
+
+    @Test
+    public void testEntitySize() throws IOException {
+        assertEquals(10, readAll(stream("0123456789", 10)));
+
+        LimitedInputStream limited = (LimitedInputStream) stream("0123456789A", 10);
+        assertThrows(RequestLimitExceededException.class, () -> readAll(limited));
+        assertNotNull(limited.getExceeded());
+        assertThrows(RequestLimitExceededException.class, () -> limited.read());
+    }
+
+    @Test
+    public void testJsonDepth() throws IOException {
+        String json = "{\"a\":[{\"b\":\"[[[[{{{\\\"\"}]}";
+        assertEquals(json.length(), readAll(stream(json, 0, new JsonDepthScanner(3))));
+        assertThrows(RequestLimitExceededException.class, () -> readAll(stream(json, 0, new JsonDepthScanner(2))));
+    }
+
+    @Test
+    public void testCborDepth() throws IOException {
+        Map<String, Object> value = new LinkedHashMap<>();
+        value.put("a", Arrays.asList(Collections.singletonMap("b", "[[[[{{{"), new byte[300], 1.5, -70000L, true));
+        value.put("c", Collections.emptyList());
+        byte[] cbor = new CBORMapper().writeValueAsBytes(value);
+        assertEquals(cbor.length, readAll(new LimitedInputStream(new ByteArrayInputStream(cbor), 0, new CborDepthScanner(3))));
+        assertThrows(RequestLimitExceededException.class,
+                () -> readAll(new LimitedInputStream(new ByteArrayInputStream(cbor), 0, new CborDepthScanner(2))));
+
+        // Indefinite length containers, as written by a streaming generator
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (CBORGenerator generator = new CBORFactory().createGenerator(out)) {
+            generator.writeStartObject();
+            generator.writeFieldName("a");
+            generator.writeStartArray();
+            generator.writeStartArray();
+            generator.writeEndArray();
+            generator.writeEndArray();
+            generator.writeFieldName("b");
+            generator.writeStartArray();
+            generator.writeString("x");
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        byte[] indefinite = out.toByteArray();
+        assertEquals(indefinite.length, readAll(new LimitedInputStream(new ByteArrayInputStream(indefinite), 0, new CborDepthScanner(3))));
+        assertThrows(RequestLimitExceededException.class,
+                () -> readAll(new LimitedInputStream(new ByteArrayInputStream(indefinite), 0, new CborDepthScanner(2))));
+    }
+
+    @Test
+    public void testMultipartParts() throws IOException {
+        assertEquals(MULTIPART.length(), readAll(stream(MULTIPART, 0, new MultipartScanner("b1", 2, 0))));
+        assertThrows(RequestLimitExceededException.class, () -> readAll(stream(MULTIPART, 0, new MultipartScanner("b1", 1, 0))));
+    }
+
+    @Test
+    public void testMultipartPartSize() throws IOException {
+        assertEquals(MULTIPART.length(), readAll(stream(MULTIPART, 0, new MultipartScanner("b1", 0, 64))));
+        assertThrows(RequestLimitExceededException.class, () -> readAll(stream(MULTIPART, 0, new MultipartScanner("b1", 0, 50))));
+    }
+}
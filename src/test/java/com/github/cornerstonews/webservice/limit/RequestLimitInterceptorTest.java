@@ -0,0 +1,82 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.limit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import javax.ws.rs.Consumes;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.core.MediaType;
+
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.exception.mapper.RequestLimitExceededExceptionMapper;
+import com.github.cornerstonews.webservice.exception.mapper.WebApplicationExceptionMapper;
+import com.github.cornerstonews.webservice.exception.mapper.WsErrorMessageBodyWriter;
+
+public class RequestLimitInterceptorTest {
+
+    @Path("upload")
+    @Consumes(MediaType.APPLICATION_OCTET_STREAM)
+    public static class UploadResource {
+        @POST
+        @Path("bytes")
+        public String bytes(byte[] content) {
+            return String.valueOf(content.length);
+        }
+
+        @POST
+        @Path("stream")
+        public String stream(InputStream content) throws IOException {
+            final byte[] buffer = new byte[512];
+            long total = 0;
+            int read;
+            while ((read = content.read(buffer)) > 0) {
+                total += read;
+            }
+            return String.valueOf(total);
+        }
+    }
+
+    private final ApplicationHandler handler = new ApplicationHandler(new ResourceConfig(UploadResource.class,
+            RequestLimitExceededExceptionMapper.class, WebApplicationExceptionMapper.class, WsErrorMessageBodyWriter.class)
+            .register(new RequestLimitFeature(new RequestLimits(1024, 0, 0, 0))));
+
+    @Test
+    public void testEntityTooLarge() throws Exception {
+        // no Content-Length, the limit trips while reading
+        assertEquals(413, post("bytes", 4096));
+        assertEquals(413, post("stream", 4096));
+        assertEquals(200, post("stream", 1024));
+    }
+
+    private int post(String path, int size) throws Exception {
+        ContainerRequest request = TestRequests.request(handler, "POST", "upload/" + path);
+        request.header("Content-Type", MediaType.APPLICATION_OCTET_STREAM);
+        request.setEntityStream(new ByteArrayInputStream(new byte[size]));
+        return TestRequests.apply(handler, request).getStatus();
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+public class ByteRangeTest {
+
+    @Test
+    public void testSingleRanges() {
+        assertRange(ByteRange.parse("bytes=0-499", 1000).get(0), 0, 499);
+        assertRange(ByteRange.parse("bytes=500-", 1000).get(0), 500, 999);
+        assertRange(ByteRange.parse("bytes=-200", 1000).get(0), 800, 999);
+        assertRange(ByteRange.parse("bytes=900-5000", 1000).get(0), 900, 999);
+        assertRange(ByteRange.parse("bytes=-5000", 1000).get(0), 0, 999);
+        assertEquals("bytes 0-499/1000", new ByteRange(0, 499).toContentRange(1000));
+    }
+
+    @Test
+    public void testMultipleRanges() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=0-9, 20-29,2000-", 1000);
+
+        assertEquals(2, ranges.size());
+        assertRange(ranges.get(0), 0, 9);
+        assertRange(ranges.get(1), 20, 29);
+    }
+
+    @Test
+    public void testOverlappingRangesMerged() {
+        List<ByteRange> ranges = ByteRange.parse("bytes=500-599,0-99,50-149,150-199,-450,900-", 1000);
+
+        assertEquals(2, ranges.size());
+        assertRange(ranges.get(0), 0, 199);
+        assertRange(ranges.get(1), 500, 999);
+
+        // Many overlapping ranges collapse into a single one
+        ranges = ByteRange.parse("bytes=0-,0-,0-,0-,0-", 1000);
+        assertEquals(1, ranges.size());
+        assertRange(ranges.get(0), 0, 999);
+    }
+
+    @Test
+    public void testUnsatisfiable() {
+        assertTrue(ByteRange.parse("bytes=1000-", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=-0", 1000).isEmpty());
+        assertTrue(ByteRange.parse("bytes=0-", 0).isEmpty());
+    }
+
+    @Test
+    public void testIgnored() {
+        assertNull(ByteRange.parse(null, 1000));
+        assertNull(ByteRange.parse("items=0-9", 1000));
+        assertNull(ByteRange.parse("bytes=9-0", 1000));
+        assertNull(ByteRange.parse("bytes=a-b", 1000));
+        assertNull(ByteRange.parse("bytes=10", 1000));
+
+        StringBuilder many = new StringBuilder("bytes=0-0");
+        for (int i = 1; i <= ByteRange.MAX_RANGES; i++) {
+            many.append(',').append(i).append('-').append(i);
+        }
+        assertNull(ByteRange.parse(many.toString(), 1000));
+    }
+
+    private static void assertRange(ByteRange range, long start, long end) {
+        assertEquals(start, range.getStart());
+        assertEquals(end, range.getEnd());
+        assertEquals(end - start + 1, range.getLength());
+    }
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.lang.annotation.Annotation;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.github.cornerstonews.webservice.model.WsError;
+
+public class CborProviderTest {
+
+    private final CborProvider provider = new CborProvider();
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        provider.writeTo(new WsError("Not found", "42"), WsError.class, WsError.class, new Annotation[0], CborProvider.APPLICATION_CBOR_TYPE,
+                new MultivaluedHashMap<>(), out);
+
+        assertEquals(new ObjectMapper().readTree("{\"error\":\"Not found\",\"referenceId\":\"42\"}"), new CBORMapper().readTree(out.toByteArray()));
+
+        @SuppressWarnings({ "unchecked", "rawtypes" })
+        WsError error = (WsError) provider.readFrom((Class) WsError.class, WsError.class, new Annotation[0], CborProvider.APPLICATION_CBOR_TYPE,
+                new MultivaluedHashMap<>(), new ByteArrayInputStream(out.toByteArray()));
+        assertEquals("Not found", error.getErrorMessage());
+        assertEquals("42", error.getReferenceId());
+    }
+
+    @Test
+    public void testStreamedEntitiesAreLeftToStreamingWriters() {
+        assertFalse(provider.isWriteable(Stream.class, Stream.class, new Annotation[0], CborProvider.APPLICATION_CBOR_TYPE));
+        assertTrue(provider.isWriteable(WsError.class, WsError.class, new Annotation[0], CborProvider.APPLICATION_CBOR_TYPE));
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.webservice.jwt.JwtTokenDO;
+import com.github.cornerstonews.webservice.model.WsError;
+
+public class ObjectMapperProviderTest {
+
+    private final ObjectMapper mapper = new ObjectMapperProvider().getContext(Object.class);
+
+    @Test
+    public void testJaxbAnnotationsAreHonored() throws Exception {
+        assertEquals("{\"error\":\"Not found\"}", mapper.writeValueAsString(new WsError("Not found")));
+        assertEquals("{\"jwtToken\":\"abc\"}", mapper.writeValueAsString(new JwtTokenDO("abc")));
+    }
+
+    @Test
+    public void testUnknownPropertiesAreIgnored() throws Exception {
+        WsError error = mapper.readValue("{\"error\":\"Not found\",\"referenceId\":\"42\",\"unknown\":1}", WsError.class);
+
+        assertEquals("Not found", error.getErrorMessage());
+        assertEquals("42", error.getReferenceId());
+    }
+}
@@ -0,0 +1,80 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.annotation.Annotation;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+public class StreamingCollectionMessageBodyWriterTest {
+
+    private static String write(Object entity, MediaType mediaType) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingCollectionMessageBodyWriter().writeTo(entity, entity.getClass(), entity.getClass(), new Annotation[0], mediaType,
+                new MultivaluedHashMap<>(), out);
+        return out.toString("UTF-8");
+    }
+
+    @Test
+    public void testNdjson() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<Map<String, Integer>> stream = Stream.of(Collections.singletonMap("id", 1), Collections.singletonMap("id", 2))
+                .onClose(() -> closed.set(true));
+
+        assertEquals("{\"id\":1}\n{\"id\":2}\n", write(stream, StreamingCollectionMessageBodyWriter.APPLICATION_NDJSON_TYPE));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testJsonArray() throws IOException {
+        assertEquals("[\"a\",\"b\",\"c\"]", write(Arrays.asList("a", "b", "c").iterator(), MediaType.APPLICATION_JSON_TYPE));
+        assertEquals("[]", write(Stream.empty(), MediaType.APPLICATION_JSON_TYPE));
+    }
+
+    @Test
+    public void testFlushesEveryInterval() throws IOException {
+        AtomicInteger flushes = new AtomicInteger();
+        OutputStream out = new ByteArrayOutputStream() {
+            @Override
+            public void flush() {
+                flushes.incrementAndGet();
+            }
+        };
+
+        new StreamingCollectionMessageBodyWriter().writeTo(IntStream.range(0, 1000).boxed(), Stream.class, Stream.class, new Annotation[0],
+                StreamingCollectionMessageBodyWriter.APPLICATION_NDJSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        // one flush per interval, plus the one closing the generator
+        assertTrue(flushes.get() <= 1000 / JsonStreaming.FLUSH_INTERVAL + 1, "flushes: " + flushes.get());
+    }
+}
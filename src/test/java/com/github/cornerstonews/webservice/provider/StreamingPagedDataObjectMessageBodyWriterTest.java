@@ -0,0 +1,98 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.provider;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.util.Iterator;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+
+import javax.ws.rs.NotAcceptableException;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedHashMap;
+
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.cornerstonews.webservice.model.StreamingPagedDataObject;
+
+public class StreamingPagedDataObjectMessageBodyWriterTest {
+
+    @Test
+    public void testWritesPagingFieldsAndStreamedItems() throws IOException {
+        AtomicBoolean closed = new AtomicBoolean();
+        StreamingPagedDataObject<Integer> page = new StreamingPagedDataObject<>(1000L, 250, 2,
+                IntStream.range(250, 500).boxed().onClose(() -> closed.set(true)));
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new StreamingPagedDataObjectMessageBodyWriter().writeTo(page, StreamingPagedDataObject.class, StreamingPagedDataObject.class,
+                new Annotation[0], MediaType.APPLICATION_JSON_TYPE, new MultivaluedHashMap<>(), out);
+
+        JsonNode json = new ObjectMapper().readTree(out.toByteArray());
+        assertEquals(250, json.get("startIndex").asInt());
+        assertEquals(4, json.get("totalPages").asInt());
+        assertEquals(4, json.get("pages").size());
+        assertTrue(json.get("hasNextPage").asBoolean());
+        assertEquals(250, json.get("items").size());
+        assertEquals(499, json.get("items").get(249).asInt());
+        assertTrue(closed.get());
+    }
+
+    @Test
+    public void testCloseFailureSuppressed() {
+        Iterator<Integer> failing = new Iterator<Integer>() {
+            @Override
+            public boolean hasNext() {
+                return true;
+            }
+
+            @Override
+            public Integer next() {
+                throw new UncheckedIOException(new IOException("read failed"));
+            }
+        };
+        StreamingPagedDataObject<Integer> page = new StreamingPagedDataObject<>(10L, 5, 1, failing, () -> {
+            throw new IOException("close failed");
+        }, "items");
+
+        IOException e = assertThrows(IOException.class, () -> write(page, MediaType.APPLICATION_JSON_TYPE));
+        assertEquals("read failed", e.getMessage());
+        assertEquals("close failed", e.getSuppressed()[0].getCause().getMessage());
+    }
+
+    @Test
+    public void testXmlRejected() {
+        AtomicBoolean closed = new AtomicBoolean();
+        StreamingPagedDataObject<Integer> page = new StreamingPagedDataObject<>(10L, 5, 1, IntStream.range(0, 5).boxed().onClose(() -> closed.set(true)));
+
+        assertThrows(NotAcceptableException.class, () -> write(page, MediaType.APPLICATION_XML_TYPE));
+        assertTrue(closed.get());
+    }
+
+    private static void write(StreamingPagedDataObject<?> page, MediaType mediaType) throws IOException {
+        new StreamingPagedDataObjectMessageBodyWriter().writeTo(page, StreamingPagedDataObject.class, StreamingPagedDataObject.class,
+                new Annotation[0], mediaType, new MultivaluedHashMap<>(), new ByteArrayOutputStream());
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.resource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.security.Principal;
+
+import javax.annotation.security.RolesAllowed;
+import javax.inject.Singleton;
+import javax.ws.rs.Consumes;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.SecurityContext;
+import javax.ws.rs.ext.ContextResolver;
+import javax.ws.rs.ext.Provider;
+
+import org.glassfish.hk2.api.InjectionResolver;
+import org.glassfish.hk2.api.TypeLiteral;
+import org.glassfish.hk2.utilities.binding.AbstractBinder;
+import org.glassfish.jersey.server.ApplicationHandler;
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.ContainerResponse;
+import org.glassfish.jersey.server.ResourceConfig;
+import org.junit.jupiter.api.Test;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.github.cornerstonews.webservice.ResourceModelCache;
+import com.github.cornerstonews.webservice.TestRequests;
+import com.github.cornerstonews.webservice.authorization.MonitorRoleFilter;
+import com.github.cornerstonews.webservice.cache.CachePolicy;
+import com.github.cornerstonews.webservice.configuration.BaseWebserviceConfig;
+import com.github.cornerstonews.webservice.configuration.injection.Config;
+import com.github.cornerstonews.webservice.configuration.injection.ConfigInjectionResolver;
+
+public class EndpointsResourceTest {
+
+    @Path("items")
+    @RolesAllowed("reader")
+    public static class ItemsResource {
+
+        @GET
+        @Produces(MediaType.APPLICATION_JSON)
+        @CachePolicy(maxAge = 60)
+        public String list() {
+            return "[]";
+        }
+
+        @POST
+        @Consumes(MediaType.APPLICATION_JSON)
+        @RolesAllowed("writer")
+        public void add(String item) {
+        }
+    }
+
+    @Test
+    public void testInventory() throws Exception {
+        final ApplicationHandler handler = handler(new ResourceConfig(EndpointsResource.class, ItemsResource.class));
+
+        final ContainerResponse response = get(handler, null);
+        assertEquals(200, response.getStatus());
+        final String json = new String((byte[]) response.getEntity(), "UTF-8");
+        assertTrue(json.contains("{\"method\":\"GET\",\"path\":\"/items\",\"class\":\"" + ItemsResource.class.getName()
+                + "\",\"produces\":[\"application/json\"],\"roles\":[\"reader\"],\"cachePolicy\":\"max-age=60\"}"), json);
+        assertTrue(json.contains("\"method\":\"POST\",\"path\":\"/items\""), json);
+        assertTrue(json.contains("\"consumes\":[\"application/json\"],\"roles\":[\"writer\"]"), json);
+        assertTrue(json.contains("\"path\":\"/endpoints\""), json);
+
+        final String etag = response.getHeaderString(HttpHeaders.ETAG);
+        assertNotNull(etag);
+        assertEquals(304, get(handler, etag).getStatus());
+    }
+
+    @Test
+    public void testApplicationObjectMapperUsed() throws Exception {
+        final ApplicationHandler handler = handler(new ResourceConfig(EndpointsResource.class).register(IndentingMapperResolver.class));
+
+        final String json = new String((byte[]) get(handler, null).getEntity(), "UTF-8");
+        assertTrue(json.contains("\n"), json);
+    }
+
+    @Provider
+    public static class IndentingMapperResolver implements ContextResolver<ObjectMapper> {
+
+        private final ObjectMapper mapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+        @Override
+        public ObjectMapper getContext(Class<?> type) {
+            return mapper;
+        }
+    }
+
+    @Test
+    public void testMonitorRoleRequired() throws Exception {
+        final BaseWebserviceConfig config = new BaseWebserviceConfig();
+        config.setAdminResourceRole("admin");
+        config.setMonitorResourceRole("monitor");
+        final ApplicationHandler handler = handler(new ResourceConfig(EndpointsResource.class, MonitorRoleFilter.class), config);
+
+        assertEquals(403, get(handler, null, securityContext("reader")).getStatus());
+        assertEquals(200, get(handler, null, securityContext("monitor")).getStatus());
+        assertEquals(200, get(handler, null, securityContext("admin")).getStatus());
+    }
+
+    private static SecurityContext securityContext(String role) {
+        return new SecurityContext() {
+            @Override
+            public Principal getUserPrincipal() {
+                return () -> "user";
+            }
+
+            @Override
+            public boolean isUserInRole(String candidate) {
+                return role.equals(candidate);
+            }
+
+            @Override
+            public boolean isSecure() {
+                return false;
+            }
+
+            @Override
+            public String getAuthenticationScheme() {
+                return SecurityContext.BASIC_AUTH;
+            }
+        };
+    }
+
+    private static ApplicationHandler handler(ResourceConfig resourceConfig) {
+        return handler(resourceConfig, new BaseWebserviceConfig());
+    }
+
+    private static ApplicationHandler handler(ResourceConfig resourceConfig, BaseWebserviceConfig config) {
+        return new ApplicationHandler(resourceConfig.register(new AbstractBinder() {
+            @Override
+            protected void configure() {
+                bind(config).to(BaseWebserviceConfig.class);
+                bind(new ResourceModelCache()).to(ResourceModelCache.class);
+                bind(ConfigInjectionResolver.class).to(new TypeLiteral<InjectionResolver<Config>>() {
+                }).in(Singleton.class);
+            }
+        }));
+    }
+
+    private static ContainerResponse get(ApplicationHandler handler, String ifNoneMatch) throws Exception {
+        return get(handler, ifNoneMatch, null);
+    }
+
+    private static ContainerResponse get(ApplicationHandler handler, String ifNoneMatch, SecurityContext securityContext) throws Exception {
+        final ContainerRequest request = TestRequests.request(handler, "GET", "endpoints", securityContext);
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return TestRequests.apply(handler, request);
+    }
+}
@@ -0,0 +1,67 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.List;
+
+import javax.ws.rs.ext.ExceptionMapper;
+import javax.ws.rs.ext.Provider;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.exception.mapper.AbstractExceptionMapper;
+import com.github.cornerstonews.webservice.exception.mapper.WebApplicationExceptionMapper;
+
+public class ClassFileInspectorTest {
+
+    private static ClassFileInspector.ClassInfo inspect(Class<?> clazz) throws IOException {
+        try (InputStream in = clazz.getResourceAsStream(clazz.getSimpleName() + ".class")) {
+            return ClassFileInspector.inspect(in);
+        }
+    }
+
+    @Test
+    public void testInspect() throws IOException {
+        ClassFileInspector.ClassInfo info = inspect(WebApplicationExceptionMapper.class);
+
+        assertEquals(WebApplicationExceptionMapper.class.getName(), info.getClassName());
+        assertEquals("com/github/cornerstonews/webservice/exception/mapper/AbstractExceptionMapper", info.getSuperName());
+        assertTrue(info.isAnnotationPresent(Provider.class));
+        assertTrue(info.isConcrete());
+
+        ClassFileInspector.ClassInfo abstractInfo = inspect(AbstractExceptionMapper.class);
+        assertEquals(Collections.singletonList("javax/ws/rs/ext/ExceptionMapper"), abstractInfo.getInterfaces());
+        assertFalse(abstractInfo.isAnnotationPresent(Provider.class));
+        assertFalse(abstractInfo.isConcrete());
+    }
+
+    @Test
+    public void testClassFinder() throws IOException {
+        List<Class<?>> classes = new ClassFinder(ExceptionMapper.class, "com.github.cornerstonews.webservice.exception", Provider.class).getClasses();
+
+        assertTrue(classes.contains(WebApplicationExceptionMapper.class));
+        assertFalse(classes.contains(AbstractExceptionMapper.class));
+        assertTrue(classes.stream().allMatch(c -> ExceptionMapper.class.isAssignableFrom(c) && c.isAnnotationPresent(Provider.class)));
+    }
+}
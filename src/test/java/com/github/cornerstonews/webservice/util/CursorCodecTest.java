@@ -0,0 +1,56 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.charset.StandardCharsets;
+
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.exception.InputValidationException;
+
+public class CursorCodecTest {
+
+    private final CursorCodec codec = new CursorCodec("secret".getBytes(StandardCharsets.UTF_8));
+
+    @Test
+    public void testRoundTrip() {
+        String cursor = codec.encode("2021-06-01T10:00:00Z|4711");
+
+        assertFalse(cursor.contains("4711"));
+        assertEquals("2021-06-01T10:00:00Z|4711", codec.decode(cursor));
+        assertNull(codec.decode(null));
+        assertNull(codec.decode(""));
+    }
+
+    @Test
+    public void testTamperedCursorIsRejected() {
+        String cursor = codec.encode("4711");
+        String forged = new CursorCodec("secret".getBytes(StandardCharsets.UTF_8)).encode("4712");
+        String otherKey = new CursorCodec("other".getBytes(StandardCharsets.UTF_8)).encode("4711");
+
+        assertEquals("4712", codec.decode(forged));
+        assertThrows(InputValidationException.class, () -> codec.decode(forged.substring(0, forged.indexOf('.')) + cursor.substring(cursor.indexOf('.'))));
+        assertThrows(InputValidationException.class, () -> codec.decode(otherKey));
+        assertThrows(InputValidationException.class, () -> codec.decode("not-a-cursor"));
+        assertThrows(InputValidationException.class, () -> codec.decode("###.###"));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+import javax.xml.bind.annotation.XmlAccessType;
+import javax.xml.bind.annotation.XmlAccessorType;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.TestRequests;
+
+public class EntityTagGeneratorTest {
+
+    // JAXB style DTO without getters
+    @XmlAccessorType(XmlAccessType.FIELD)
+    public static class FieldDto {
+        private String name;
+        private int count;
+
+        FieldDto(String name, int count) {
+            this.name = name;
+            this.count = count;
+        }
+    }
+
+    public static class Opaque {
+        @SuppressWarnings("unused")
+        private final String hidden;
+
+        Opaque(String hidden) {
+            this.hidden = hidden;
+        }
+    }
+
+    @Test
+    public void testFieldAccessDtosDiffer() {
+        EntityTag first = EntityTagGenerator.generate(new FieldDto("a", 1));
+        EntityTag second = EntityTagGenerator.generate(new FieldDto("b", 2));
+
+        assertNotNull(first);
+        assertNotEquals(first, second);
+        assertEquals(first, EntityTagGenerator.generate(new FieldDto("a", 1)));
+    }
+
+    @Test
+    public void testNoTagForEmptyObject() {
+        assertNull(EntityTagGenerator.generate(new Opaque("a")));
+        assertNotNull(EntityTagGenerator.generate(new FieldDto(null, 0)));
+
+        ContainerRequest request = TestRequests.request(null, "GET", "opaque");
+        request.header("If-None-Match", "*");
+        Response response = WSResponse.conditional(request, new Opaque("a"), Status.OK).build();
+        assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        assertNull(response.getEntityTag());
+        assertTrue(response.hasEntity());
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one or more
+ * contributor license agreements.  See the NOTICE file distributed with
+ * this work for additional information regarding copyright ownership.
+ * The ASF licenses this file to You under the Apache License, Version 2.0
+ * (the "License"); you may not use this file except in compliance with
+ * the License.  You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package com.github.cornerstonews.webservice.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.ws.rs.core.CacheControl;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.Response;
+import javax.ws.rs.core.Response.Status;
+
+import org.glassfish.jersey.server.ContainerRequest;
+import org.junit.jupiter.api.Test;
+
+import com.github.cornerstonews.webservice.TestRequests;
+
+public class WSResponseTest {
+
+    private static final String ENTITY = "entity";
+
+    private static ContainerRequest request(String ifNoneMatch) {
+        ContainerRequest request = TestRequests.request(null, "GET", "config");
+        if (ifNoneMatch != null) {
+            request.header(HttpHeaders.IF_NONE_MATCH, ifNoneMatch);
+        }
+        return request;
+    }
+
+    @Test
+    public void testFullResponseWhenTagDoesNotMatch() {
+        Response response = WSResponse.conditional(request("\"other\""), ENTITY, Status.OK).build();
+
+        assertEquals(Status.OK.getStatusCode(), response.getStatus());
+        assertEquals(ENTITY, response.getEntity());
+        assertEquals(EntityTagGenerator.generate(ENTITY), response.getEntityTag());
+    }
+
+    @Test
+    public void testNotModifiedWithoutBodyWhenTagMatches() {
+        CacheControl cacheControl = new CacheControl();
+        cacheControl.setMaxAge(60);
+        String tag = EntityTagGenerator.generate(ENTITY).toString();
+
+        Response response = WSResponse.conditional(request(tag), ENTITY, Status.OK, cacheControl).build();
+
+        assertEquals(Status.NOT_MODIFIED.getStatusCode(), response.getStatus());
+        assertFalse(response.hasEntity());
+        assertEquals(EntityTagGenerator.generate(ENTITY), response.getEntityTag());
+        assertTrue(response.getHeaderString(HttpHeaders.CACHE_CONTROL).contains("max-age=60"));
+    }
+
+    @Test
+    public void testCachedTagSkipsEntityLoading() {
+        EntityTagCache cache = new EntityTagCache();
+        AtomicInteger loads = new AtomicInteger();
+        String tag = EntityTagGenerator.generate(ENTITY).toString();
+
+        Response first = WSResponse.conditional(request(null), cache, "key", () -> {
+            loads.incrementAndGet();
+            return ENTITY;
+        }, Status.OK).build();
+        Response second = WSResponse.conditional(request(tag), cache, "key", () -> {
+            loads.incrementAndGet();
+            return ENTITY;
+        }, Status.OK).build();
+
+        assertEquals(Status.OK.getStatusCode(), first.getStatus());
+        assertEquals(Status.NOT_MODIFIED.getStatusCode(), second.getStatus());
+        assertEquals(1, loads.get());
+
+        cache.invalidate("key");
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    public void testDigestFollowsContent() {
+        assertEquals(EntityTagGenerator.generate(new String[] { "a", "b" }), EntityTagGenerator.generate(new String[] { "a", "b" }));
+        assertNotEquals(EntityTagGenerator.generate(new String[] { "a", "b" }), EntityTagGenerator.generate(new String[] { "a", "c" }));
+        assertTrue(EntityTagGenerator.generate(ENTITY).isWeak());
+    }
+}